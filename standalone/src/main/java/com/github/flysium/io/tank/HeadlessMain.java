@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2020 SvenAugustus
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.flysium.io.tank;
+
+import com.github.flysium.io.tank.config.WindowConfig;
+import com.github.flysium.io.tank.service.GameModel;
+import com.github.flysium.io.tank.service.RandomSource;
+import com.github.flysium.io.tank.service.objectfactory.PooledGameObjectFactory;
+import com.github.flysium.io.tank.service.painter.SimpleGameObjectPainter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Headless simulation, it steps the world without any window, as fast as possible or at a target
+ * tick rate, and reports the simulation throughput (ticks per second).
+ *
+ * <p>Usage: <code>HeadlessMain [ticks] [ticksPerSecond] [seed]</code>, the default is 10000 ticks
+ * as fast as possible (ticksPerSecond is 0), and the configured seed of random draws. Two runs of
+ * the same seed report the same state hash.
+ *
+ * <p>It also reports the bytes allocated per tick by the simulation when the JVM supports it, in
+ * the steady state moving and flying allocate nothing.
+ *
+ * <p>The world takes the shapes of <code>SimpleGameObjectPainter</code>, so that no images are
+ * loaded, and nothing is painted.
+ *
+ * @author Sven Augustus
+ * @version 1.0
+ */
+public class HeadlessMain {
+
+  private static final WindowConfig WINDOW_CONFIG = WindowConfig.getSingleton();
+
+  private static final long REPORT_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+  public static void main(String[] args) {
+    // never touch a display
+    System.setProperty("java.awt.headless", "true");
+
+    final long ticks = args.length > 0 ? Long.parseLong(args[0]) : 10000;
+    final int ticksPerSecond = args.length > 1 ? Integer.parseInt(args[1]) : 0;
+    final long tickNanos = ticksPerSecond > 0 ? TimeUnit.SECONDS.toNanos(1) / ticksPerSecond : 0;
+    // run automatic every automaticMillis of simulation time
+    final int automaticTicks = Math.max(1,
+        WINDOW_CONFIG.getAutomaticMillis() / WINDOW_CONFIG.getTickMillis());
+
+    GameModel gameModel = new GameModel(Main.FINAL_RECTANGLE, new SimpleGameObjectPainter(),
+        true);
+    GameModel.setSingleton(gameModel);
+    if (args.length > 2) {
+      gameModel.setRandomSource(RandomSource.seeded(Long.parseLong(args[2])));
+    }
+
+    final long start = System.nanoTime();
+    final long startAllocated = allocatedBytes();
+    long nextTick = start;
+    long lastReport = start;
+    long lastReportTicks = 0;
+    long lastReportAllocated = startAllocated;
+    for (long tick = 1; tick <= ticks; tick++) {
+      if (tick % automaticTicks == 0) {
+        gameModel.automatic();
+      }
+      gameModel.tick();
+
+      if (tickNanos > 0) {
+        nextTick += tickNanos;
+        LockSupport.parkNanos(nextTick - System.nanoTime());
+      }
+      final long now = System.nanoTime();
+      if (now - lastReport >= REPORT_NANOS) {
+        final long allocated = allocatedBytes();
+        report("ticks: " + tick, tick - lastReportTicks, now - lastReport,
+            allocated - lastReportAllocated);
+        lastReport = now;
+        lastReportTicks = tick;
+        lastReportAllocated = allocated;
+      }
+    }
+    report("total ticks: " + ticks, ticks, System.nanoTime() - start,
+        allocatedBytes() - startAllocated);
+    System.out.println(gameModel.getStats());
+    System.out.println(String.format("state hash: %016x", gameModel.stateHash()));
+    if (gameModel.getGameObjectFactory() instanceof PooledGameObjectFactory) {
+      System.out.println(gameModel.getGameObjectFactory());
+    }
+  }
+
+  private static void report(String prefix, long ticks, long nanos, long allocated) {
+    System.out.println(String.format("%s, ticks/s: %.1f, %.3f ms/tick, %s bytes/tick", prefix,
+        ticks * 1e9 / nanos, nanos / 1e6 / Math.max(1, ticks),
+        allocated >= 0 ? String.valueOf(allocated / Math.max(1, ticks)) : "-"));
+  }
+
+  /**
+   * Get the bytes allocated by the current thread.
+   *
+   * @return allocated bytes, or a negative value if it's not supported by the JVM.
+   */
+  private static long allocatedBytes() {
+    ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+    if (threadMXBean instanceof com.sun.management.ThreadMXBean) {
+      return ((com.sun.management.ThreadMXBean) threadMXBean)
+          .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+    return -1;
+  }
+
+}
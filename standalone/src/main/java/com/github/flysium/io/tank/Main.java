@@ -22,10 +22,20 @@
 
 package com.github.flysium.io.tank;
 
+import com.github.flysium.io.tank.config.GameConfig;
 import com.github.flysium.io.tank.config.ResourceManager;
 import com.github.flysium.io.tank.config.WindowConfig;
+import com.github.flysium.io.tank.config.utils.LogUtils;
 import com.github.flysium.io.tank.model.FinalRectangle;
+import com.github.flysium.io.tank.service.AutosaveService;
+import com.github.flysium.io.tank.service.GameModel;
+import com.github.flysium.io.tank.service.SimulationLoop;
+import com.github.flysium.io.tank.service.journal.InputJournal;
+import com.github.flysium.io.tank.view.RenderLoop;
 import com.github.flysium.io.tank.view.TankFrame;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -39,29 +49,55 @@ public class Main {
   private static final WindowConfig WINDOW_CONFIG = WindowConfig.getSingleton();
   public static final FinalRectangle FINAL_RECTANGLE = new FinalRectangle(2, 25,
       WINDOW_CONFIG.getWindowWidth() - 4, WINDOW_CONFIG.getWindowHeight() - 29);
+  public static final String JOURNAL_FILE = System.getProperty("user.home") + "/tankWar.journal";
 
   public static void main(String[] args) {
-    TankFrame ui = new TankFrame();
+    TankFrame ui = new TankFrame(WINDOW_CONFIG.isActiveRendering(),
+        WINDOW_CONFIG.isDirtyRendering());
     ui.setVisible(true);
 
-    new Thread(() -> {
-      while (true) {
-        try {
-          TimeUnit.MILLISECONDS.sleep(WINDOW_CONFIG.getRefreshMillis());
-        } catch (InterruptedException e) {
-          e.printStackTrace();
+    if (GameConfig.getSingleton().isJournalRecord()) {
+      InputJournal journal = GameModel.getSingleton().startRecording();
+      Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+        try (OutputStream out = new FileOutputStream(JOURNAL_FILE)) {
+          journal.writeTo(out);
+          LogUtils.info("journal of %s bytes recorded: %s", journal.size(), JOURNAL_FILE);
+        } catch (IOException e) {
+          LogUtils.error(e, "failed to record journal: %s", JOURNAL_FILE);
         }
-        // repaint
-        ui.repaint();
-      }
-    }, "repaint").start();
+      }, "journal"));
+    }
+
+    new Thread(new SimulationLoop(GameModel.getSingleton(), WINDOW_CONFIG.getTickMillis()),
+        "simulation").start();
+
+    AutosaveService autosaveService = GameModel.getSingleton().getAutosaveService();
+    if (autosaveService != null) {
+      autosaveService.start();
+    }
+
+    if (WINDOW_CONFIG.isActiveRendering() || WINDOW_CONFIG.isDirtyRendering()) {
+      new Thread(new RenderLoop(ui, WINDOW_CONFIG.getRefreshMillis()), "render").start();
+    } else {
+      new Thread(() -> {
+        while (true) {
+          try {
+            TimeUnit.MILLISECONDS.sleep(WINDOW_CONFIG.getRefreshMillis());
+          } catch (InterruptedException e) {
+            LogUtils.warn(e, "interrupted");
+          }
+          // repaint
+          ui.repaint();
+        }
+      }, "repaint").start();
+    }
 
     new Thread(() -> {
       while (true) {
         try {
           TimeUnit.MILLISECONDS.sleep(WINDOW_CONFIG.getAutomaticMillis());
         } catch (InterruptedException e) {
-          e.printStackTrace();
+          LogUtils.warn(e, "interrupted");
         }
         ui.automatic();
       }
@@ -73,7 +109,7 @@ public class Main {
         try {
           TimeUnit.MILLISECONDS.sleep(1000);
         } catch (InterruptedException e) {
-          e.printStackTrace();
+          LogUtils.warn(e, "interrupted");
         }
       }
     }, "music").start();
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2020 SvenAugustus
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.flysium.io.tank;
+
+import com.github.flysium.io.tank.service.journal.ReplayEngine;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+/**
+ * Replay a recorded journal of inputs headlessly and deterministically as fast as possible, and
+ * report the simulation throughput and whether the state matches the recording.
+ *
+ * <p>Usage: <code>ReplayMain [journal]</code>, the default is the journal recorded by
+ * <code>Main</code> when <code>game.journal.record</code> is enabled. It exits with 1 if the state
+ * mismatches.
+ *
+ * @author Sven Augustus
+ * @version 1.0
+ */
+public class ReplayMain {
+
+  public static void main(String[] args) throws IOException {
+    // never touch a display
+    System.setProperty("java.awt.headless", "true");
+
+    final File file = new File(args.length > 0 ? args[0] : Main.JOURNAL_FILE);
+    ReplayEngine replayEngine = new ReplayEngine(Files.readAllBytes(file.toPath()));
+
+    final long start = System.nanoTime();
+    final long ticks = replayEngine.run();
+    final long nanos = System.nanoTime() - start;
+    System.out.println(String.format("replayed ticks: %d, ticks/s: %.1f, %.3f ms/tick", ticks,
+        ticks * 1e9 / Math.max(1, nanos), nanos / 1e6 / Math.max(1, ticks)));
+    System.out.println(replayEngine.getGameModel().getStats());
+    if (replayEngine.getMismatchTick() >= 0) {
+      System.out.println("state mismatches at tick " + replayEngine.getMismatchTick() + ", after "
+          + replayEngine.getChecks() + " checks passed");
+      System.exit(1);
+    }
+    System.out.println("state matches, " + replayEngine.getChecks() + " checks passed");
+  }
+
+}
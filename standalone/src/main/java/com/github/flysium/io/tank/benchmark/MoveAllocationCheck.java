@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2020 SvenAugustus
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.flysium.io.tank.benchmark;
+
+import com.github.flysium.io.tank.Main;
+import com.github.flysium.io.tank.model.Direction;
+import com.github.flysium.io.tank.model.DirectionRectangle;
+import com.github.flysium.io.tank.model.Group;
+import com.github.flysium.io.tank.service.painter.SimpleGameObjectPainter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Check that moving allocates nothing, it moves a <code>DirectionRectangle</code> around in the
+ * bounds count times, it bounces off the bounds and backs off sometimes, and measures the bytes
+ * allocated by the moves.
+ *
+ * <p>It exits with 1 if any byte is allocated, and with 2 if the JVM does not support counting
+ * the allocated bytes.
+ *
+ * <pre>
+ * Usage: MoveAllocationCheck [count]
+ * </pre>
+ *
+ * @author Sven Augustus
+ * @version 1.0
+ */
+public class MoveAllocationCheck {
+
+  private static final Direction[] DIRECTIONS = Direction.values();
+
+  public static void main(String[] args) {
+    // never touch a display
+    System.setProperty("java.awt.headless", "true");
+
+    final long moves = args.length > 0 ? Long.parseLong(args[0]) : 1000000;
+
+    final DirectionRectangle rectangle = new DirectionRectangle(Main.FINAL_RECTANGLE.x,
+        Main.FINAL_RECTANGLE.y, Direction.RIGHT,
+        new SimpleGameObjectPainter().getTankShape(Group.ENEMY_GROUP), Main.FINAL_RECTANGLE);
+    // warm up, so that the moves are compiled
+    move(rectangle, moves);
+
+    // the bytes allocated by the measurement itself
+    allocatedBytes();
+    final long overhead = -allocatedBytes() + allocatedBytes();
+
+    final long startAllocated = allocatedBytes();
+    final int checksum = move(rectangle, moves);
+    final long allocated = allocatedBytes() - startAllocated - overhead;
+    if (startAllocated < 0) {
+      System.out.println("allocated bytes are not supported by the JVM");
+      System.exit(2);
+    }
+    System.out.println(String.format("moves: %d, allocated bytes: %d (checksum %d)", moves,
+        allocated, checksum));
+    if (allocated != 0) {
+      System.exit(1);
+    }
+  }
+
+  private static int move(DirectionRectangle rectangle, long moves) {
+    int checksum = 0;
+    for (long i = 0; i < moves; i++) {
+      if (rectangle.isOutbound() || i % 64 == 0) {
+        rectangle.changeDirection(DIRECTIONS[(int) (i >>> 6) & 3]);
+      }
+      rectangle.moveByDirection(rectangle.getDirection(), 10);
+      if (i % 7 == 0) {
+        rectangle.back();
+      }
+      checksum += rectangle.getSnapshot().x + rectangle.getPreviousSnapshot().y;
+    }
+    return checksum;
+  }
+
+  /**
+   * Get the bytes allocated by the current thread.
+   *
+   * @return allocated bytes, or a negative value if it's not supported by the JVM.
+   */
+  private static long allocatedBytes() {
+    ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+    if (threadMXBean instanceof com.sun.management.ThreadMXBean) {
+      return ((com.sun.management.ThreadMXBean) threadMXBean)
+          .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+    return -1;
+  }
+
+}
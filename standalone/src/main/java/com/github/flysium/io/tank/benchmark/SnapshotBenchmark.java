@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2020 SvenAugustus
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.flysium.io.tank.benchmark;
+
+import com.github.flysium.io.tank.Main;
+import com.github.flysium.io.tank.model.GameObject;
+import com.github.flysium.io.tank.model.StaticRectangle;
+import com.github.flysium.io.tank.model.Tank;
+import com.github.flysium.io.tank.service.GameModel;
+import com.github.flysium.io.tank.service.GameSnapshot;
+import com.github.flysium.io.tank.service.painter.SimpleGameObjectPainter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Benchmark of saving games, it compares the save time, the load time and the size of the Java
+ * serialization of the world, which is the former format of <code>GameModel.save()</code>, with
+ * the binary format of <code>GameSnapshot</code>.
+ *
+ * <p>The world is a headless world with extra walls, after some ticks of firing. Saving and loading
+ * are measured in memory, so no disk I/O is included. Loading a snapshot is measured by decoding
+ * it, and by decoding and restoring it into a world.
+ *
+ * <pre>
+ * Usage: SnapshotBenchmark [iterations] [walls]
+ * </pre>
+ *
+ * @author Sven Augustus
+ * @version 1.0
+ */
+public class SnapshotBenchmark {
+
+  public static void main(String[] args) throws IOException, ClassNotFoundException {
+    // never touch a display
+    System.setProperty("java.awt.headless", "true");
+
+    final int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+    final int walls = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+
+    GameModel gameModel = newWorld();
+    GameModel.setSingleton(gameModel);
+    for (int i = 0; i < walls; i++) {
+      gameModel.createWall(new StaticRectangle(20 + (i % 40) * 25, 550 + (i / 40) * 25, 20, 20))
+          .arise();
+    }
+    for (int tick = 1; tick <= 40; tick++) {
+      for (GameObject gameObject : gameModel.getGameObjects()) {
+        if (gameObject instanceof Tank && gameObject.isAlive()) {
+          ((Tank) gameObject).fire();
+        }
+      }
+      gameModel.tick();
+    }
+    System.out.println(gameModel.getStats());
+
+    final GameModel restoreModel = newWorld();
+    final byte[] javaBytes = javaSave(gameModel);
+    final byte[] binaryBytes = binarySave(gameModel);
+    System.out.println(String.format("size, java serialization: %d bytes, binary snapshot: %d bytes",
+        javaBytes.length, binaryBytes.length));
+
+    for (int round = 0; round < 2; round++) {
+      final String prefix = round == 0 ? "warm-up " : "";
+      long start = System.nanoTime();
+      for (int i = 0; i < iterations; i++) {
+        javaSave(gameModel);
+      }
+      report(prefix + "save, java serialization", iterations, System.nanoTime() - start);
+
+      start = System.nanoTime();
+      for (int i = 0; i < iterations; i++) {
+        binarySave(gameModel);
+      }
+      report(prefix + "save, binary snapshot", iterations, System.nanoTime() - start);
+
+      start = System.nanoTime();
+      for (int i = 0; i < iterations; i++) {
+        javaLoad(javaBytes);
+      }
+      report(prefix + "load, java serialization", iterations, System.nanoTime() - start);
+
+      start = System.nanoTime();
+      for (int i = 0; i < iterations; i++) {
+        binaryLoad(binaryBytes);
+      }
+      report(prefix + "load, binary snapshot", iterations, System.nanoTime() - start);
+
+      start = System.nanoTime();
+      for (int i = 0; i < iterations; i++) {
+        restoreModel.restore(binaryLoad(binaryBytes));
+      }
+      report(prefix + "load and restore, binary snapshot", iterations,
+          System.nanoTime() - start);
+    }
+  }
+
+  private static GameModel newWorld() {
+    return new GameModel(Main.FINAL_RECTANGLE, new SimpleGameObjectPainter(), true);
+  }
+
+  private static byte[] javaSave(GameModel gameModel) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream oos = new ObjectOutputStream(bytes)) {
+      oos.writeObject(gameModel.getMainTank());
+      oos.writeObject(gameModel.getGameObjects());
+    }
+    return bytes.toByteArray();
+  }
+
+  private static Object javaLoad(byte[] data) throws IOException, ClassNotFoundException {
+    try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(data))) {
+      ois.readObject();
+      return ois.readObject();
+    }
+  }
+
+  private static byte[] binarySave(GameModel gameModel) {
+    ByteBuffer buffer = gameModel.snapshot().encode();
+    byte[] bytes = new byte[buffer.remaining()];
+    buffer.get(bytes);
+    return bytes;
+  }
+
+  private static GameSnapshot binaryLoad(byte[] data) throws IOException {
+    return GameSnapshot.decode(ByteBuffer.wrap(data));
+  }
+
+  private static void report(String prefix, int iterations, long nanos) {
+    System.out.println(String.format("%s: %.1f us/op", prefix, nanos / 1e3 / iterations));
+  }
+
+}
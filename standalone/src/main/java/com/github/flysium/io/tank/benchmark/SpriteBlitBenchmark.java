@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2020 SvenAugustus
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.flysium.io.tank.benchmark;
+
+import com.github.flysium.io.tank.config.SpriteAtlas;
+import com.github.flysium.io.tank.view.utils.ImageUtils;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import javax.imageio.ImageIO;
+
+/**
+ * Benchmark of sprite blits, it measures blits per second of the sprites as they are read by
+ * <code>ImageIO</code>, after they are converted to compatible images, and after they are packed
+ * into a <code>SpriteAtlas</code> as the <code>ResourceManager</code> does.
+ *
+ * <p>The sprites are drawn to a <code>TYPE_INT_RGB</code> buffer like the passive mode, and to a
+ * <code>VolatileImage</code> like the active mode if there is a screen.
+ *
+ * <pre>
+ * Usage: SpriteBlitBenchmark [seconds]
+ * </pre>
+ *
+ * @author Sven Augustus
+ * @version 1.0
+ */
+public class SpriteBlitBenchmark {
+
+  private static final String[] SPRITES = {"images/mainTank.png", "images/enemyTank.png",
+      "images/bullet.png", "images/explode/e1.gif", "images/explode/e8.gif",
+      "images/explode/e16.gif"};
+
+  private static final int WIDTH = 1080;
+  private static final int HEIGHT = 720;
+
+  public static void main(String[] args) throws IOException {
+    final int seconds = args.length > 0 ? Integer.parseInt(args[0]) : 2;
+    final long nanos = TimeUnit.SECONDS.toNanos(seconds);
+
+    List<BufferedImage> raw = new ArrayList<>(SPRITES.length);
+    List<BufferedImage> compatible = new ArrayList<>(SPRITES.length);
+    for (String sprite : SPRITES) {
+      try (InputStream in = Objects.requireNonNull(
+          SpriteBlitBenchmark.class.getClassLoader().getResourceAsStream(sprite))) {
+        BufferedImage image = ImageIO.read(in);
+        raw.add(image);
+        compatible.add(ImageUtils.toCompatibleImage(image));
+      }
+    }
+
+    SpriteAtlas.Builder builder = SpriteAtlas.builder();
+    raw.forEach(builder::add);
+    SpriteAtlas atlas = builder.build();
+
+    BufferedImage buffer = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+    run("buffer image", buffer, raw, compatible, atlas, nanos);
+
+    GraphicsConfiguration gc = ImageUtils.getDefaultConfiguration();
+    if (gc != null) {
+      VolatileImage volatileImage = gc.createCompatibleVolatileImage(WIDTH, HEIGHT);
+      run("volatile image", volatileImage, raw, compatible, atlas, nanos);
+    }
+  }
+
+  private static void run(String target, Image destination, List<BufferedImage> raw,
+      List<BufferedImage> compatible, SpriteAtlas atlas, long nanos) {
+    // warm up
+    blit(destination, raw, nanos / 4);
+    blit(destination, compatible, nanos / 4);
+    blit(destination, atlas, nanos / 4);
+
+    final double before = blit(destination, raw, nanos);
+    final double after = blit(destination, compatible, nanos);
+    final double packed = blit(destination, atlas, nanos);
+    System.out.println(String.format("%s, ImageIO sprites: %.0f blits/s", target, before));
+    System.out.println(String.format("%s, compatible sprites: %.0f blits/s (x%.2f)", target,
+        after, after / before));
+    System.out.println(String.format("%s, atlas sprites: %.0f blits/s (x%.2f)", target,
+        packed, packed / before));
+  }
+
+  /**
+   * blit the frames of the atlas in turn for the duration.
+   *
+   * @return blits per second
+   */
+  private static double blit(Image destination, SpriteAtlas atlas, long nanos) {
+    Graphics2D g = (Graphics2D) destination.getGraphics();
+    g.setColor(Color.WHITE);
+    g.fillRect(0, 0, WIDTH, HEIGHT);
+    final int size = atlas.size();
+    long blits = 0;
+    final long start = System.nanoTime();
+    long elapsed;
+    do {
+      for (int i = 0; i < 1000; i++) {
+        atlas.draw(g, i % size, (i * 37) % (WIDTH - 64), (i * 53) % (HEIGHT - 64));
+      }
+      blits += 1000;
+      elapsed = System.nanoTime() - start;
+    } while (elapsed < nanos);
+    g.dispose();
+    return blits * 1e9 / elapsed;
+  }
+
+  /**
+   * blit the sprites in turn for the duration.
+   *
+   * @return blits per second
+   */
+  private static double blit(Image destination, List<BufferedImage> sprites, long nanos) {
+    Graphics2D g = (Graphics2D) destination.getGraphics();
+    g.setColor(Color.WHITE);
+    g.fillRect(0, 0, WIDTH, HEIGHT);
+    final int size = sprites.size();
+    long blits = 0;
+    final long start = System.nanoTime();
+    long elapsed;
+    do {
+      for (int i = 0; i < 1000; i++) {
+        final BufferedImage sprite = sprites.get(i % size);
+        g.drawImage(sprite, (i * 37) % (WIDTH - 64), (i * 53) % (HEIGHT - 64), null);
+      }
+      blits += 1000;
+      elapsed = System.nanoTime() - start;
+    } while (elapsed < nanos);
+    g.dispose();
+    return blits * 1e9 / elapsed;
+  }
+
+}
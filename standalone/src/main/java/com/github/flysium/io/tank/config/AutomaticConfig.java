@@ -22,6 +22,7 @@
 
 package com.github.flysium.io.tank.config;
 
+import com.github.flysium.io.tank.config.utils.LogUtils;
 import com.github.flysium.io.tank.config.utils.PropertiesUtils;
 import com.github.flysium.io.tank.service.automatic.AutomaticStrategy;
 import com.github.flysium.io.tank.service.automatic.RandomAutomaticStrategy;
@@ -36,6 +37,15 @@ public final class AutomaticConfig {
 
   private final String enemyTankStrategy;
 
+  // decisions in parallel, and the time budget of a round
+  private final int parallelism;
+  private final int budgetMillis;
+
+  // chase
+  private final int navigationCellSize;
+  private final int navigationCacheCapacity;
+  private final int enemyTankChaseFireRatio;
+
   // random
   private final int enemyTankRandomFireRatio;
   private final int enemyTankRandomChangeDirectionRatio;
@@ -48,11 +58,24 @@ public final class AutomaticConfig {
             Class<?> clazz = Class.forName(v);
             return AutomaticStrategy.class.isAssignableFrom(clazz);
           } catch (ClassNotFoundException e) {
-            e.printStackTrace();
+            LogUtils.warn("class not found: %s", v);
           }
           return false;
         }, RandomAutomaticStrategy.class.getCanonicalName());
 
+    // decisions in parallel, 0 is the count of processors
+    int parallelism = PropertiesUtils.getIntegerProperty("automatic.parallelism", v -> v >= 0, 0);
+    this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    this.budgetMillis = PropertiesUtils.getIntegerProperty("automatic.budgetMillis", v -> v >= 0, 0);
+
+    // chase
+    this.navigationCellSize = PropertiesUtils
+        .getIntegerProperty("automatic.navigation.cellSize", v -> v > 0, 10);
+    this.navigationCacheCapacity = PropertiesUtils
+        .getIntegerProperty("automatic.navigation.cacheCapacity", v -> v > 0, 4096);
+    this.enemyTankChaseFireRatio = PropertiesUtils
+        .getIntegerProperty("automatic.enemyTank.chase.fire.ratio", v -> v >= 0 && v <= 100, 50);
+
     // random
     int enemyTankRandomFireRatio = PropertiesUtils
         .getIntegerProperty("automatic.enemyTank.random.fire.ratio", v -> v > 0, 5);
@@ -84,6 +107,48 @@ public final class AutomaticConfig {
     return enemyTankStrategy;
   }
 
+  /**
+   * Get the count of threads which decide in parallel, 1 is on the simulation thread.
+   *
+   * @return parallelism
+   */
+  public int getParallelism() {
+    return parallelism;
+  }
+
+  /**
+   * Get the time budget of a round of decisions, the tanks which are not decided within it keep
+   * their previous decisions.
+   *
+   * @return budget in milliseconds, 0 is unlimited
+   */
+  public int getBudgetMillis() {
+    return budgetMillis;
+  }
+
+  /**
+   * Get the cell size of the navigation grid, e.g. the moving speed of the tank, so that a move is
+   * a cell.
+   *
+   * @return cell size
+   */
+  public int getNavigationCellSize() {
+    return navigationCellSize;
+  }
+
+  public int getNavigationCacheCapacity() {
+    return navigationCacheCapacity;
+  }
+
+  /**
+   * Get the ratio (percent) to fire when the main tank is in sight.
+   *
+   * @return ratio
+   */
+  public int getEnemyTankChaseFireRatio() {
+    return enemyTankChaseFireRatio;
+  }
+
   public int getEnemyTankRandomFireRatio() {
     return enemyTankRandomFireRatio;
   }
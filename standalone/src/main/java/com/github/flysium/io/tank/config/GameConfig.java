@@ -22,9 +22,12 @@
 
 package com.github.flysium.io.tank.config;
 
+import com.github.flysium.io.tank.config.utils.LogUtils;
 import com.github.flysium.io.tank.config.utils.PropertiesUtils;
 import com.github.flysium.io.tank.service.fire.DefaultFireStrategy;
 import com.github.flysium.io.tank.service.fire.FireStrategy;
+import com.github.flysium.io.tank.service.objectfactory.DefaultGameObjectFactory;
+import com.github.flysium.io.tank.service.objectfactory.GameObjectFactory;
 import com.github.flysium.io.tank.service.painter.GameObjectPainter;
 import com.github.flysium.io.tank.service.painter.SimpleGameObjectPainter;
 import java.util.function.Function;
@@ -39,6 +42,9 @@ public final class GameConfig {
 
   // game initialization
   private final String painter;
+  private final String gameObjectFactory;
+  private final int bulletPoolSize;
+  private final int explodePoolSize;
 
   private final int mainTankInitialHealth;
   private final int mainTankMovingSpeed;
@@ -58,12 +64,30 @@ public final class GameConfig {
   private final String mainTankFireStrategy;
   private final String enemyTankFireStrategy;
 
+  // static layer of painter
+  private final boolean staticLayer;
+
+  // physics collision
+  private final int collisionCellSize;
+  private final int collisionWallCellSize;
+
+  // autosave
+  private final int autosaveMillis;
+  private final int autosaveSlots;
+  private final int autosaveSlotSize;
+
+  // journal of inputs
+  private final boolean journalRecord;
+
+  // seed of random draws, null if it is unseeded
+  private final Long randomSeed;
+
   private static final Function<String, Boolean> CHECK_FIRE_SYSTEM_FUNCTION = v -> {
     try {
       Class<?> clazz = Class.forName(v);
       return FireStrategy.class.isAssignableFrom(clazz);
     } catch (ClassNotFoundException e) {
-      e.printStackTrace();
+      LogUtils.warn("class not found: %s", v);
     }
     return false;
   };
@@ -76,10 +100,25 @@ public final class GameConfig {
             Class<?> clazz = Class.forName(v);
             return GameObjectPainter.class.isAssignableFrom(clazz);
           } catch (ClassNotFoundException e) {
-            e.printStackTrace();
+            LogUtils.warn("class not found: %s", v);
           }
           return false;
         }, SimpleGameObjectPainter.class.getCanonicalName());
+    staticLayer = PropertiesUtils.getBooleanProperty("game.painter.staticLayer", true);
+    gameObjectFactory = PropertiesUtils.getProperty("game.objectFactory"
+        , v -> {
+          try {
+            Class<?> clazz = Class.forName(v);
+            return GameObjectFactory.class.isAssignableFrom(clazz);
+          } catch (ClassNotFoundException e) {
+            LogUtils.warn("class not found: %s", v);
+          }
+          return false;
+        }, DefaultGameObjectFactory.class.getCanonicalName());
+    bulletPoolSize = PropertiesUtils
+        .getIntegerProperty("game.objectFactory.bulletPoolSize", v -> v > 0, 1024);
+    explodePoolSize = PropertiesUtils
+        .getIntegerProperty("game.objectFactory.explodePoolSize", v -> v > 0, 64);
     mainTankInitialHealth = PropertiesUtils
         .getIntegerProperty("game.mainTank.initialHealth", v -> v > 0, 100);
     mainTankMovingSpeed = PropertiesUtils
@@ -105,6 +144,31 @@ public final class GameConfig {
         , CHECK_FIRE_SYSTEM_FUNCTION, DefaultFireStrategy.class.getCanonicalName());
     enemyTankFireStrategy = PropertiesUtils.getProperty("game.enemyTank.fireStrategy"
         , CHECK_FIRE_SYSTEM_FUNCTION, DefaultFireStrategy.class.getCanonicalName());
+
+    // physics collision
+    collisionCellSize = PropertiesUtils
+        .getIntegerProperty("game.collision.cellSize", v -> v > 0, 100);
+    collisionWallCellSize = PropertiesUtils
+        .getIntegerProperty("game.collision.wallCellSize", v -> v > 0, 25);
+    // autosave
+    autosaveMillis = PropertiesUtils
+        .getIntegerProperty("game.autosave.millis", v -> v >= 0, 10000);
+    autosaveSlots = PropertiesUtils.getIntegerProperty("game.autosave.slots", v -> v > 0, 4);
+    autosaveSlotSize = PropertiesUtils
+        .getIntegerProperty("game.autosave.slotSize", v -> v >= 4096, 1048576);
+    // journal of inputs
+    journalRecord = PropertiesUtils.getBooleanProperty("game.journal.record", false);
+    // seed of random draws
+    String seed = PropertiesUtils.getProperty("game.random.seed", "").trim();
+    Long randomSeed = null;
+    if (!seed.isEmpty()) {
+      try {
+        randomSeed = Long.parseLong(seed);
+      } catch (NumberFormatException e) {
+        LogUtils.warn("invalid game.random.seed, it is unseeded: %s", seed);
+      }
+    }
+    this.randomSeed = randomSeed;
   }
 
   public static GameConfig getSingleton() {
@@ -115,6 +179,18 @@ public final class GameConfig {
     return painter;
   }
 
+  public String getGameObjectFactory() {
+    return gameObjectFactory;
+  }
+
+  public int getBulletPoolSize() {
+    return bulletPoolSize;
+  }
+
+  public int getExplodePoolSize() {
+    return explodePoolSize;
+  }
+
   public int getMainTankInitialHealth() {
     return mainTankInitialHealth;
   }
@@ -159,6 +235,38 @@ public final class GameConfig {
     return enemyTankFireStrategy;
   }
 
+  public boolean isStaticLayer() {
+    return staticLayer;
+  }
+
+  public int getCollisionCellSize() {
+    return collisionCellSize;
+  }
+
+  public int getCollisionWallCellSize() {
+    return collisionWallCellSize;
+  }
+
+  public int getAutosaveMillis() {
+    return autosaveMillis;
+  }
+
+  public int getAutosaveSlots() {
+    return autosaveSlots;
+  }
+
+  public int getAutosaveSlotSize() {
+    return autosaveSlotSize;
+  }
+
+  public boolean isJournalRecord() {
+    return journalRecord;
+  }
+
+  public Long getRandomSeed() {
+    return randomSeed;
+  }
+
   private static class Holder {
 
     // singleton instance.
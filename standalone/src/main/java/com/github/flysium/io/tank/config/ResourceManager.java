@@ -22,6 +22,7 @@
 
 package com.github.flysium.io.tank.config;
 
+import com.github.flysium.io.tank.config.utils.LogUtils;
 import com.github.flysium.io.tank.config.utils.PropertiesUtils;
 import com.github.flysium.io.tank.model.Direction;
 import com.github.flysium.io.tank.view.utils.AudioUtils;
@@ -47,6 +48,23 @@ public final class ResourceManager {
   private final Map<Direction, BufferedImage> enemyTankImage;
   private final Map<Direction, BufferedImage> bulletImage;
   private final List<BufferedImage> explodeImage = new ArrayList<>(20);
+  // unmodifiable views
+  private final Map<Direction, BufferedImage> mainTankImageView;
+  private final Map<Direction, BufferedImage> enemyTankImageView;
+  private final Map<Direction, BufferedImage> bulletImageView;
+  private final List<BufferedImage> explodeImageView;
+
+  // all frames are packed into the atlas, indexed by Direction ordinal or step
+  private final SpriteAtlas spriteAtlas;
+  private final int[] mainTankFrames;
+  private final int[] enemyTankFrames;
+  private final int[] bulletFrames;
+  private final int[] explodeFrames;
+
+  private static final String WAR_AUDIO = "audio/war1.wav";
+  private static final String FIRE_AUDIO = "audio/tank_fire.wav";
+  private static final String MOVE_AUDIO = "audio/tank_move.wav";
+  private static final String EXPLODE_AUDIO = "audio/explode.wav";
 
   private final boolean audioOn;
 
@@ -57,30 +75,56 @@ public final class ResourceManager {
 
     for (int i = 1; i <= 16; i++) {
       BufferedImage image = readBufferedImage("images/explode/e" + i + ".gif");
-      explodeImage.add(image);
+      explodeImage.add(ImageUtils.toCompatibleImage(image));
     }
+    mainTankImageView = Collections.unmodifiableMap(mainTankImage);
+    enemyTankImageView = Collections.unmodifiableMap(enemyTankImage);
+    bulletImageView = Collections.unmodifiableMap(bulletImage);
+    explodeImageView = Collections.unmodifiableList(explodeImage);
+
+    SpriteAtlas.Builder builder = SpriteAtlas.builder();
+    mainTankFrames = addDirectionFrames(builder, mainTankImage);
+    enemyTankFrames = addDirectionFrames(builder, enemyTankImage);
+    bulletFrames = addDirectionFrames(builder, bulletImage);
+    explodeFrames = explodeImage.stream().filter(Objects::nonNull).mapToInt(builder::add)
+        .toArray();
+    spriteAtlas = builder.build();
 
     audioOn = PropertiesUtils.getBooleanProperty("audio.on", false);
+    if (audioOn) {
+      AudioUtils.preload(WAR_AUDIO, FIRE_AUDIO, MOVE_AUDIO, EXPLODE_AUDIO);
+    }
   }
 
   private Map<Direction, BufferedImage> readBufferedImageToDirectionMap(String pathName) {
     Map<Direction, BufferedImage> map = new HashMap<>(16);
     BufferedImage image = readBufferedImage(pathName);
     if (image != null) {
-      map.put(Direction.UP, image);
-      map.put(Direction.LEFT, ImageUtils.rotateImage(image, -90));
-      map.put(Direction.RIGHT, ImageUtils.rotateImage(image, 90));
-      map.put(Direction.DOWN, ImageUtils.rotateImage(image, 180));
+      // sprites are converted to the native pixel format of the screen
+      map.put(Direction.UP, ImageUtils.toCompatibleImage(image));
+      map.put(Direction.LEFT, ImageUtils.toCompatibleImage(ImageUtils.rotateImage(image, -90)));
+      map.put(Direction.RIGHT, ImageUtils.toCompatibleImage(ImageUtils.rotateImage(image, 90)));
+      map.put(Direction.DOWN, ImageUtils.toCompatibleImage(ImageUtils.rotateImage(image, 180)));
     }
     return map;
   }
 
+  private int[] addDirectionFrames(SpriteAtlas.Builder builder,
+      Map<Direction, BufferedImage> images) {
+    int[] frames = new int[Direction.values().length];
+    for (Direction direction : Direction.values()) {
+      BufferedImage image = images.get(direction);
+      frames[direction.ordinal()] = image == null ? -1 : builder.add(image);
+    }
+    return frames;
+  }
+
   private BufferedImage readBufferedImage(String pathName) {
     try {
       return ImageIO.read(Objects.requireNonNull(ResourceManager.class.getClassLoader()
           .getResourceAsStream(pathName)));
     } catch (Throwable e) {
-      e.printStackTrace();
+      LogUtils.error(e, "failed to read image: %s", pathName);
     }
     return null;
   }
@@ -94,47 +138,100 @@ public final class ResourceManager {
   }
 
   public Map<Direction, BufferedImage> getMainTankImage() {
-    return Collections.unmodifiableMap(mainTankImage);
+    return mainTankImageView;
   }
 
   public Map<Direction, BufferedImage> getEnemyTankImage() {
-    return Collections.unmodifiableMap(enemyTankImage);
+    return enemyTankImageView;
   }
 
   public Map<Direction, BufferedImage> getBulletImage() {
-    return Collections.unmodifiableMap(bulletImage);
+    return bulletImageView;
   }
 
   public List<BufferedImage> getExplodeImage() {
-    return Collections.unmodifiableList(explodeImage);
+    return explodeImageView;
+  }
+
+  public SpriteAtlas getSpriteAtlas() {
+    return spriteAtlas;
+  }
+
+  /**
+   * Get the frame of main tank in the <code>SpriteAtlas</code>.
+   *
+   * @param direction <code>Direction</code>
+   * @return index of the frame, or -1 if there is no such frame.
+   */
+  public int getMainTankFrame(Direction direction) {
+    return mainTankFrames[direction.ordinal()];
+  }
+
+  /**
+   * Get the frame of enemy tank in the <code>SpriteAtlas</code>.
+   *
+   * @param direction <code>Direction</code>
+   * @return index of the frame, or -1 if there is no such frame.
+   */
+  public int getEnemyTankFrame(Direction direction) {
+    return enemyTankFrames[direction.ordinal()];
+  }
+
+  /**
+   * Get the frame of bullet in the <code>SpriteAtlas</code>.
+   *
+   * @param direction <code>Direction</code>
+   * @return index of the frame, or -1 if there is no such frame.
+   */
+  public int getBulletFrame(Direction direction) {
+    return bulletFrames[direction.ordinal()];
+  }
+
+  /**
+   * Get the frame of explode in the <code>SpriteAtlas</code>.
+   *
+   * @param index index of the explode images
+   * @return index of the frame.
+   */
+  public int getExplodeFrame(int index) {
+    return explodeFrames[index];
+  }
+
+  /**
+   * Get the count of explode frames.
+   *
+   * @return count
+   */
+  public int getExplodeFrameCount() {
+    return explodeFrames.length;
   }
 
   public void playWarAudio() {
     if (!audioOn) {
       return;
     }
-    AudioUtils.play("audio/war1.wav");
+    AudioUtils.play(WAR_AUDIO);
   }
 
   public void asyncPlayFireAudio() {
     if (!audioOn) {
       return;
     }
-    AudioUtils.asyncPlayChannel("audio/tank_fire.wav");
+    AudioUtils.asyncPlayChannel(FIRE_AUDIO);
   }
 
   public void asyncPlayMoveAudio() {
     if (!audioOn) {
       return;
     }
-    AudioUtils.asyncPlayChannel("audio/tank_move.wav");
+    AudioUtils.asyncPlayChannel(MOVE_AUDIO);
   }
 
   public void asyncPlayExplodeAudio() {
     if (!audioOn) {
       return;
     }
-    AudioUtils.asyncPlayChannel("audio/explode.wav");
+    AudioUtils.asyncPlayChannel(EXPLODE_AUDIO);
   }
 
   private static class Holder {
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2020 SvenAugustus
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.flysium.io.tank.config;
+
+import com.github.flysium.io.tank.view.utils.ImageUtils;
+import java.awt.AlphaComposite;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sprite atlas, all frames are packed into a single compatible image, and located by an int
+ * index, so that drawing a frame looks up nothing but arrays.
+ *
+ * @author Sven Augustus
+ * @version 1.0
+ */
+public final class SpriteAtlas {
+
+  // padding between frames, so that no frame bleeds into the others
+  private static final int PADDING = 1;
+
+  private final BufferedImage image;
+  private final int[] frameX;
+  private final int[] frameY;
+  private final int[] frameWidth;
+  private final int[] frameHeight;
+
+  private SpriteAtlas(BufferedImage image, int[] frameX, int[] frameY, int[] frameWidth,
+      int[] frameHeight) {
+    this.image = image;
+    this.frameX = frameX;
+    this.frameY = frameY;
+    this.frameWidth = frameWidth;
+    this.frameHeight = frameHeight;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Get the single source image of all frames.
+   *
+   * @return image
+   */
+  public BufferedImage getImage() {
+    return image;
+  }
+
+  /**
+   * Get the count of frames.
+   *
+   * @return count
+   */
+  public int size() {
+    return frameX.length;
+  }
+
+  public int getWidth(int frame) {
+    return frameWidth[frame];
+  }
+
+  public int getHeight(int frame) {
+    return frameHeight[frame];
+  }
+
+  /**
+   * draw a frame at the specified location.
+   *
+   * @param g     Graphics
+   * @param frame index of the frame
+   * @param x     the X coordinate
+   * @param y     the Y coordinate
+   */
+  public void draw(Graphics g, int frame, int x, int y) {
+    final int sx = frameX[frame];
+    final int sy = frameY[frame];
+    final int w = frameWidth[frame];
+    final int h = frameHeight[frame];
+    g.drawImage(image, x, y, x + w, y + h, sx, sy, sx + w, sy + h, null);
+  }
+
+  /**
+   * Builder of <code>SpriteAtlas</code>, frames are packed by shelves in the order of adding.
+   */
+  public static class Builder {
+
+    // max width of the atlas
+    private static final int MAX_WIDTH = 1024;
+
+    private final List<BufferedImage> frames = new ArrayList<>();
+
+    /**
+     * add a frame.
+     *
+     * @param frame image of the frame
+     * @return index of the frame
+     */
+    public int add(BufferedImage frame) {
+      if (frame == null) {
+        throw new IllegalArgumentException("frame must not be null");
+      }
+      frames.add(frame);
+      return frames.size() - 1;
+    }
+
+    public SpriteAtlas build() {
+      final int count = frames.size();
+      final int[] frameX = new int[count];
+      final int[] frameY = new int[count];
+      final int[] frameWidth = new int[count];
+      final int[] frameHeight = new int[count];
+
+      // shelf packing
+      int x = 0;
+      int y = 0;
+      int shelfHeight = 0;
+      int width = 1;
+      for (int i = 0; i < count; i++) {
+        final BufferedImage frame = frames.get(i);
+        frameWidth[i] = frame.getWidth();
+        frameHeight[i] = frame.getHeight();
+        if (x > 0 && x + frameWidth[i] > MAX_WIDTH) {
+          x = 0;
+          y += shelfHeight + PADDING;
+          shelfHeight = 0;
+        }
+        frameX[i] = x;
+        frameY[i] = y;
+        x += frameWidth[i] + PADDING;
+        shelfHeight = Math.max(shelfHeight, frameHeight[i]);
+        width = Math.max(width, frameX[i] + frameWidth[i]);
+      }
+      final int height = Math.max(1, y + shelfHeight);
+
+      BufferedImage atlas = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+      Graphics2D g = atlas.createGraphics();
+      g.setComposite(AlphaComposite.Src);
+      for (int i = 0; i < count; i++) {
+        g.drawImage(frames.get(i), frameX[i], frameY[i], null);
+      }
+      g.dispose();
+      return new SpriteAtlas(ImageUtils.toCompatibleImage(atlas), frameX, frameY, frameWidth,
+          frameHeight);
+    }
+  }
+
+}
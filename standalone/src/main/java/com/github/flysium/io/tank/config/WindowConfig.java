@@ -40,12 +40,21 @@ public final class WindowConfig {
 
   private final int automaticMillis;
 
+  private final int tickMillis;
+
+  private final boolean activeRendering;
+
+  private final boolean dirtyRendering;
+
   private WindowConfig() {
     windowWidth = PropertiesUtils.getIntegerProperty("window.width", v -> v >= 800, 800);
     windowHeight = PropertiesUtils.getIntegerProperty("window.height", v -> v >= 600, 600);
     refreshMillis = PropertiesUtils.getIntegerProperty("window.refreshMillis", v -> v >= 25, 50);
     automaticMillis = PropertiesUtils.getIntegerProperty("window.automaticMillis", v -> v >= 25,
         100);
+    tickMillis = PropertiesUtils.getIntegerProperty("window.tickMillis", v -> v >= 5, 25);
+    activeRendering = PropertiesUtils.getBooleanProperty("window.activeRendering", false);
+    dirtyRendering = PropertiesUtils.getBooleanProperty("window.dirtyRendering", false);
   }
 
   public static WindowConfig getSingleton() {
@@ -68,6 +77,18 @@ public final class WindowConfig {
     return automaticMillis;
   }
 
+  public int getTickMillis() {
+    return tickMillis;
+  }
+
+  public boolean isActiveRendering() {
+    return activeRendering;
+  }
+
+  public boolean isDirtyRendering() {
+    return dirtyRendering;
+  }
+
   private static class Holder {
 
     // singleton instance.
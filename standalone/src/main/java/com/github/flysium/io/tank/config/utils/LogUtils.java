@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) 2020 SvenAugustus
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.flysium.io.tank.config.utils;
+
+import java.io.PrintStream;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Log Utils, a lightweight level-gated and asynchronous logging.
+ *
+ * <p>A disabled level costs only a comparison. An enabled record is a lock-free enqueue, the
+ * message is formatted (by {@link String#format(String, Object...)}) and written by the logger
+ * thread, so the arguments should not be changed after logging. If too many records are pending,
+ * the record is dropped and counted.
+ *
+ * <p>The level is configured by <code>log.level</code>, one of DEBUG, INFO, WARN, ERROR, OFF.
+ *
+ * @author Sven Augustus
+ * @version 1.0
+ */
+public final class LogUtils {
+
+  private LogUtils() {
+  }
+
+  /**
+   * Log level.
+   */
+  public enum Level {
+    DEBUG, INFO, WARN, ERROR, OFF
+  }
+
+  private static final Level DEFAULT_LEVEL = Level.INFO;
+
+  private static final int MAX_PENDING = 4096;
+
+  private static final Queue<Record> RECORDS = new ConcurrentLinkedQueue<>();
+
+  private static final AtomicInteger PENDING = new AtomicInteger();
+
+  private static final AtomicLong DROPPED = new AtomicLong();
+
+  private static volatile Level level;
+
+  public static boolean isDebugEnabled() {
+    return isEnabled(Level.DEBUG);
+  }
+
+  public static boolean isEnabled(Level target) {
+    return target.compareTo(getLevel()) >= 0 && target != Level.OFF;
+  }
+
+  public static Level getLevel() {
+    Level current = level;
+    if (current == null) {
+      // PropertiesUtils logs while it's loading, it sees the default level meanwhile.
+      level = DEFAULT_LEVEL;
+      current = parseLevel(PropertiesUtils.getProperty("log.level"));
+      level = current;
+    }
+    return current;
+  }
+
+  public static void setLevel(Level newLevel) {
+    level = newLevel;
+  }
+
+  public static void debug(String format, Object... args) {
+    log(Level.DEBUG, null, format, args);
+  }
+
+  public static void info(String format, Object... args) {
+    log(Level.INFO, null, format, args);
+  }
+
+  public static void warn(String format, Object... args) {
+    log(Level.WARN, null, format, args);
+  }
+
+  public static void warn(Throwable throwable, String format, Object... args) {
+    log(Level.WARN, throwable, format, args);
+  }
+
+  public static void error(String format, Object... args) {
+    log(Level.ERROR, null, format, args);
+  }
+
+  public static void error(Throwable throwable, String format, Object... args) {
+    log(Level.ERROR, throwable, format, args);
+  }
+
+  /**
+   * Get the count of records dropped because too many records are pending.
+   *
+   * @return count of dropped records
+   */
+  public static long getDropped() {
+    return DROPPED.get();
+  }
+
+  private static void log(Level target, Throwable throwable, String format, Object[] args) {
+    if (!isEnabled(target)) {
+      return;
+    }
+    final int pending = PENDING.incrementAndGet();
+    if (pending > MAX_PENDING) {
+      PENDING.decrementAndGet();
+      DROPPED.incrementAndGet();
+      return;
+    }
+    RECORDS.offer(new Record(target, System.currentTimeMillis(),
+        Thread.currentThread().getName(), throwable, format, args));
+    if (pending == 1) {
+      // the logger thread parks when nothing is pending, wake it up after the record is queued
+      Writer.wakeUp();
+    }
+  }
+
+  private static Level parseLevel(String value) {
+    if (value == null || value.trim().isEmpty()) {
+      return DEFAULT_LEVEL;
+    }
+    try {
+      return Level.valueOf(value.trim().toUpperCase());
+    } catch (IllegalArgumentException e) {
+      return DEFAULT_LEVEL;
+    }
+  }
+
+  private static final class Record {
+
+    private final Level level;
+    private final long millis;
+    private final String threadName;
+    private final Throwable throwable;
+    private final String format;
+    private final Object[] args;
+
+    Record(Level level, long millis, String threadName, Throwable throwable, String format,
+        Object[] args) {
+      this.level = level;
+      this.millis = millis;
+      this.threadName = threadName;
+      this.throwable = throwable;
+      this.format = format;
+      this.args = args;
+    }
+  }
+
+  /**
+   * the logger thread, started on the first record. It parks without a timeout when nothing is
+   * pending, and is woken up by the record which makes the pending count 1.
+   */
+  private static final class Writer {
+
+    private static final Thread THREAD = new Thread(Writer::run, "logger");
+
+    private static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat(
+        "yyyy-MM-dd HH:mm:ss.SSS");
+
+    private static final Date DATE = new Date();
+
+    private static long reportedDropped;
+
+    static {
+      THREAD.setDaemon(true);
+      THREAD.start();
+      // flush the pending records at exit
+      Runtime.getRuntime().addShutdownHook(new Thread(Writer::flush, "logger-flush"));
+    }
+
+    static void wakeUp() {
+      // loading the class starts the thread
+      LockSupport.unpark(THREAD);
+    }
+
+    private static void run() {
+      while (true) {
+        if (!flush()) {
+          LockSupport.park();
+        }
+      }
+    }
+
+    private static synchronized boolean flush() {
+      boolean written = false;
+      Record record;
+      while ((record = RECORDS.poll()) != null) {
+        PENDING.decrementAndGet();
+        write(record);
+        written = true;
+      }
+      final long dropped = DROPPED.get();
+      if (dropped != reportedDropped) {
+        System.err.println(format(Level.WARN, System.currentTimeMillis(), THREAD.getName(),
+            (dropped - reportedDropped) + " log records dropped"));
+        reportedDropped = dropped;
+      }
+      return written;
+    }
+
+    private static void write(Record record) {
+      String message;
+      try {
+        message = record.args == null || record.args.length == 0 ? record.format
+            : String.format(record.format, record.args);
+      } catch (RuntimeException e) {
+        message = record.format;
+      }
+      PrintStream out = record.level.compareTo(Level.WARN) >= 0 ? System.err : System.out;
+      out.println(format(record.level, record.millis, record.threadName, message));
+      if (record.throwable != null) {
+        record.throwable.printStackTrace(out);
+      }
+    }
+
+    private static String format(Level level, long millis, String threadName, String message) {
+      DATE.setTime(millis);
+      return DATE_FORMAT.format(DATE) + " [" + threadName + "] " + level + " " + message;
+    }
+  }
+
+}
@@ -40,9 +40,9 @@ public final class PropertiesUtils {
       PROPERTIES.load(PropertiesUtils.class.getClassLoader()
           .getResourceAsStream("config.properties"));
     } catch (Exception e) {
-      e.printStackTrace();
+      LogUtils.error(e, "failed to load config.properties");
     }
-    System.out.println("--------->load properties: " + PROPERTIES);
+    LogUtils.debug("load properties: %s", PROPERTIES);
   }
 
   public static String getProperty(String key) {
@@ -22,6 +22,8 @@
 
 package com.github.flysium.io.tank.model;
 
+import java.awt.Rectangle;
+
 /**
  * abstract <code>Movable</code>
  *
@@ -31,17 +33,63 @@ package com.github.flysium.io.tank.model;
 public abstract class BaseMovable extends GameObject implements Movable, Lifecycle {
 
   // speed.
-  protected final int speed;
+  protected int speed;
 
   public BaseMovable(Group group, DirectionRectangle location, int initialHealth, int speed) {
     super(group, location, initialHealth);
     this.speed = speed;
   }
 
+  protected void reset(Group group, DirectionRectangle location, int initialHealth, int speed) {
+    super.reset(group, location, initialHealth);
+    this.speed = speed;
+  }
+
   protected DirectionRectangle getDirectionRectangle() {
     return (DirectionRectangle) this.location;
   }
 
+  /**
+   * Get the location before the last move.
+   *
+   * @return location snapshot
+   */
+  public Rectangle getPreviousLocation() {
+    return this.getDirectionRectangle().getPreviousSnapshot();
+  }
+
+  /**
+   * Determines whether the area swept by the last move intersects the specified
+   * <code>Rectangle</code>, so that a fast object never tunnels through the others.
+   *
+   * @param target the specified <code>Rectangle</code>
+   * @return return true if they intersects, otherwise return false.
+   */
+  public boolean sweepIntersects(Rectangle target) {
+    return this.getDirectionRectangle().sweepIntersects(target);
+  }
+
+  /**
+   * Stop the last move at the specified obstacle.
+   *
+   * @param obstacle the obstacle
+   * @return return true if the last move has been stopped, otherwise return false.
+   */
+  public boolean clipSweep(Rectangle obstacle) {
+    return this.getDirectionRectangle().clipSweep(obstacle);
+  }
+
+  /**
+   * restore the location and the direction, e.g. from a saved game.
+   *
+   * @param x         the X coordinate of the location
+   * @param y         the Y coordinate of the location
+   * @param direction <code>Direction</code>
+   */
+  public void restoreLocation(int x, int y, Direction direction) {
+    this.getDirectionRectangle().restore(x, y, direction);
+  }
+
   @Override
   public int getSpeed() {
     return speed;
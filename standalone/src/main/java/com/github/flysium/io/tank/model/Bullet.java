@@ -32,10 +32,10 @@ import java.awt.Rectangle;
  */
 public abstract class Bullet extends BaseFlyable implements Flyable, Lifecycle, Danger {
 
-  private final Tank owner;
+  private Tank owner;
 
   // damage value
-  private final int damageValue;
+  private int damageValue;
 
   public Bullet(final Tank owner, BulletAttributes attributes) {
     super(owner.getGroup(),
@@ -45,6 +45,25 @@ public abstract class Bullet extends BaseFlyable implements Flyable, Lifecycle,
     this.damageValue = attributes.getDamageValue();
   }
 
+  /**
+   * reset this bullet to be reused as a new one which is fired by the tank.
+   *
+   * @param owner      tank
+   * @param attributes attributes of bullet
+   */
+  public void reset(final Tank owner, BulletAttributes attributes) {
+    Direction initialDirection = attributes.getInitialDirection() != null ?
+        attributes.getInitialDirection() : owner.getDirection();
+    DirectionRectangularShape shape = attributes.getShape();
+    DirectionRectangle location = getDirectionRectangle();
+    location.reset(initialX(owner, initialDirection, shape),
+        initialY(owner, initialDirection, shape), initialDirection, shape, false,
+        owner.getBounds());
+    super.reset(owner.getGroup(), location, 1, attributes.getBulletFlyingSpeed());
+    this.owner = owner;
+    this.damageValue = attributes.getDamageValue();
+  }
+
   /**
    * Get the owner
    *
@@ -67,35 +86,44 @@ public abstract class Bullet extends BaseFlyable implements Flyable, Lifecycle,
     if (initialDirection == null) {
       initialDirection = owner.getDirection();
     }
+    // enable move to outbound
+    return new DirectionRectangle(initialX(owner, initialDirection, shape),
+        initialY(owner, initialDirection, shape), initialDirection, shape, false,
+        owner.getBounds());
+  }
+
+  private static int initialX(final Tank owner, Direction initialDirection,
+      DirectionRectangularShape shape) {
     final Rectangle tankLocation = owner.getLocation();
-    int x = tankLocation.x;
-    int y = tankLocation.y;
     final int w = shape.getWidth(initialDirection);
-    final int h = shape.getHeight(initialDirection);
-
     switch (initialDirection) {
       case UP:
-        x = tankLocation.x + (tankLocation.width / 2) - (w / 2);
-        y = tankLocation.y - (h / 2);
-        break;
       case DOWN:
-        x = tankLocation.x + (tankLocation.width / 2) - (w / 2);
-        y = tankLocation.y + tankLocation.height - (h / 2);
-        break;
+        return tankLocation.x + (tankLocation.width / 2) - (w / 2);
       case LEFT:
-        x = tankLocation.x - (w / 2);
-        y = tankLocation.y + (tankLocation.height / 2) - (h / 2);
-        break;
+        return tankLocation.x - (w / 2);
       case RIGHT:
-        x = tankLocation.x + tankLocation.width - (w / 2);
-        y = tankLocation.y + (tankLocation.height / 2) - (h / 2);
-        break;
+        return tankLocation.x + tankLocation.width - (w / 2);
       default:
-        break;
+        return tankLocation.x;
     }
+  }
 
-    // enable move to outbound
-    return new DirectionRectangle(x, y, initialDirection, shape, false, owner.getBounds());
+  private static int initialY(final Tank owner, Direction initialDirection,
+      DirectionRectangularShape shape) {
+    final Rectangle tankLocation = owner.getLocation();
+    final int h = shape.getHeight(initialDirection);
+    switch (initialDirection) {
+      case UP:
+        return tankLocation.y - (h / 2);
+      case DOWN:
+        return tankLocation.y + tankLocation.height - (h / 2);
+      case LEFT:
+      case RIGHT:
+        return tankLocation.y + (tankLocation.height / 2) - (h / 2);
+      default:
+        return tankLocation.y;
+    }
   }
 
   @Override
@@ -60,6 +60,20 @@ public class BulletAttributes {
     return this;
   }
 
+  /**
+   * copy all attributes from the specified <code>BulletAttributes</code>
+   *
+   * @param attributes <code>BulletAttributes</code>
+   * @return fresh this <code>BulletAttributes</code>
+   */
+  public BulletAttributes copyFrom(BulletAttributes attributes) {
+    initialDirection = attributes.getInitialDirection();
+    shape = attributes.getShape();
+    bulletFlyingSpeed = attributes.getBulletFlyingSpeed();
+    damageValue = attributes.getDamageValue();
+    return this;
+  }
+
   public Direction getInitialDirection() {
     return initialDirection;
   }
@@ -42,23 +42,26 @@ public class DirectionRectangle implements PositionRectangle, Serializable {
   private Direction direction;
 
   // shape
-  private final DirectionRectangularShape shape;
+  private DirectionRectangularShape shape;
 
   // disable the object move to outbound
-  private final boolean disableOutbound;
+  private boolean disableOutbound;
 
   // bounds
-  private final FinalRectangle bounds;
+  private FinalRectangle bounds;
 
   // outbound flag
   private boolean outbound;
 
   // snapshot
-  private Rectangle snapshot;
+  private volatile Rectangle snapshot;
 
   // previous position
   private Rectangle previousSnapshot;
 
+  // snapshots are recycled in a ring, a published snapshot is not changed until two moves later
+  private final Rectangle[] snapshots = {new Rectangle(), new Rectangle(), new Rectangle()};
+
   public DirectionRectangle(final int x, final int y, final Direction initialDirection,
       DirectionRectangularShape shape, FinalRectangle bounds) {
     this(x, y, initialDirection, shape, true, bounds);
@@ -76,6 +79,39 @@ public class DirectionRectangle implements PositionRectangle, Serializable {
     this.previousSnapshot = snapshot;
   }
 
+  /**
+   * reset this <code>DirectionRectangle</code> to be reused as a new one.
+   */
+  public void reset(final int x, final int y, final Direction initialDirection,
+      DirectionRectangularShape shape, boolean disableOutbound, FinalRectangle bounds) {
+    this.location.setBounds(x, y, shape.getWidth(initialDirection),
+        shape.getHeight(initialDirection));
+    this.direction = initialDirection;
+    this.shape = shape;
+    this.disableOutbound = disableOutbound;
+    this.bounds = bounds;
+    this.outbound = false;
+    this.snapshot = updateSnapshot();
+    this.previousSnapshot = snapshot;
+  }
+
+  /**
+   * restore the location and the direction, e.g. from a saved game. It is not a move, so the
+   * previous snapshot is the same as the snapshot.
+   *
+   * @param x         the X coordinate of the location
+   * @param y         the Y coordinate of the location
+   * @param direction <code>Direction</code>
+   */
+  public void restore(final int x, final int y, final Direction direction) {
+    this.location.setBounds(x, y, shape.getWidth(direction), shape.getHeight(direction));
+    this.direction = direction;
+    this.outbound = false;
+    this.previousSnapshot = snapshot;
+    this.snapshot = updateSnapshot();
+    this.previousSnapshot = snapshot;
+  }
+
   /**
    * Get the <code>DirectionRectangularShape</code>
    *
@@ -86,7 +122,7 @@ public class DirectionRectangle implements PositionRectangle, Serializable {
   }
 
   /**
-   * Get the snapshot on the moment.
+   * Get the snapshot on the moment, it's recycled two moves later, so it must not be kept.
    *
    * @return snapshot <code>Rectangle</code>
    */
@@ -95,6 +131,70 @@ public class DirectionRectangle implements PositionRectangle, Serializable {
     return snapshot;
   }
 
+  /**
+   * Get the snapshot before the last move.
+   *
+   * @return previous snapshot <code>Rectangle</code>
+   */
+  public Rectangle getPreviousSnapshot() {
+    return previousSnapshot;
+  }
+
+  /**
+   * Determines whether the area swept by the last move, from the previous snapshot to the
+   * snapshot, intersects the specified <code>Rectangle</code>. A move is along one axis, so the
+   * swept area is the union of the two snapshots.
+   *
+   * @param target the specified <code>Rectangle</code>
+   * @return return true if they intersects, otherwise return false.
+   */
+  public boolean sweepIntersects(Rectangle target) {
+    final Rectangle from = previousSnapshot;
+    final Rectangle to = snapshot;
+    if (from == to || (from.x == to.x && from.y == to.y)) {
+      return to.intersects(target);
+    }
+    final int x1 = Math.min(from.x, to.x);
+    final int y1 = Math.min(from.y, to.y);
+    final int x2 = Math.max(from.x + from.width, to.x + to.width);
+    final int y2 = Math.max(from.y + from.height, to.y + to.height);
+    return target.width > 0 && target.height > 0 && x2 > x1 && y2 > y1
+        && target.x < x2 && target.x + target.width > x1
+        && target.y < y2 && target.y + target.height > y1;
+  }
+
+  /**
+   * Stop the last move at the specified obstacle, move back to the first location along the swept
+   * area which intersects the obstacle.
+   *
+   * @param obstacle the obstacle
+   * @return return true if the last move has been stopped, otherwise return false.
+   */
+  public boolean clipSweep(Rectangle obstacle) {
+    final Rectangle from = previousSnapshot;
+    final Rectangle to = snapshot;
+    if (from == to || !sweepIntersects(obstacle)) {
+      return false;
+    }
+    int x = to.x;
+    int y = to.y;
+    if (to.x > from.x) {
+      x = Math.max(from.x, Math.min(to.x, obstacle.x - to.width + 1));
+    } else if (to.x < from.x) {
+      x = Math.min(from.x, Math.max(to.x, obstacle.x + obstacle.width - 1));
+    } else if (to.y > from.y) {
+      y = Math.max(from.y, Math.min(to.y, obstacle.y - to.height + 1));
+    } else if (to.y < from.y) {
+      y = Math.min(from.y, Math.max(to.y, obstacle.y + obstacle.height - 1));
+    }
+    if (x == to.x && y == to.y) {
+      return false;
+    }
+    this.location.setLocation(x, y);
+    this.snapshot = updateSnapshot();
+    return true;
+  }
+
   /**
    * weather the object is outbound or not.
    *
@@ -116,10 +216,19 @@ public class DirectionRectangle implements PositionRectangle, Serializable {
 
 
   /**
-   * update snapshot
+   * update snapshot, write the location to a snapshot which is neither the current one nor the
+   * previous one, so that moving allocates nothing.
    */
   private Rectangle updateSnapshot() {
-    return new Rectangle(location.x, location.y, location.width, location.height);
+    Rectangle next = snapshots[0];
+    for (Rectangle candidate : snapshots) {
+      if (candidate != snapshot && candidate != previousSnapshot) {
+        next = candidate;
+        break;
+      }
+    }
+    next.setBounds(location.x, location.y, location.width, location.height);
+    return next;
   }
 
   /**
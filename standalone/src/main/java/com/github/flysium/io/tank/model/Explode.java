@@ -32,7 +32,12 @@ import java.util.concurrent.atomic.AtomicInteger;
  */
 public abstract class Explode extends GameObject implements Lifecycle {
 
-  private final Tank owner;
+  /**
+   * steps of the explosion, it advances a step per tick and dies after the last one.
+   */
+  public static final int STEPS = 16;
+
+  private Tank owner;
 
   private final AtomicInteger step = new AtomicInteger(-1);
 
@@ -41,6 +46,17 @@ public abstract class Explode extends GameObject implements Lifecycle {
     this.owner = owner;
   }
 
+  /**
+   * reset this explode to be reused as a new one of the tank.
+   *
+   * @param owner tank
+   */
+  public void reset(Tank owner) {
+    super.reset(owner.getGroup(), owner.location, Integer.MAX_VALUE);
+    this.owner = owner;
+    this.step.set(-1);
+  }
+
   /**
    * Get the owner
    *
@@ -51,12 +67,34 @@ public abstract class Explode extends GameObject implements Lifecycle {
   }
 
   /**
-   * Get the next step
+   * Get the current step
+   *
+   * @return the current step, it's negative if the explosion has not started yet.
+   */
+  public int getStep() {
+    return step.get();
+  }
+
+  /**
+   * restore the step, e.g. from a saved game.
+   *
+   * @param step step
+   */
+  public void restoreStep(int step) {
+    this.step.set(step);
+  }
+
+  /**
+   * Advance to the next step, and die after the last one.
    *
    * @return the next step
    */
   public int next() {
-    return step.incrementAndGet();
+    int next = step.incrementAndGet();
+    if (next >= STEPS) {
+      die();
+    }
+    return next;
   }
 
 }
@@ -24,9 +24,6 @@ package com.github.flysium.io.tank.model;
 
 import java.awt.Rectangle;
 import java.io.Serializable;
-import java.util.Objects;
-import java.util.UUID;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * 2D Game Object
@@ -38,36 +35,61 @@ public abstract class GameObject implements Lifecycle, Serializable {
 
   private static final long serialVersionUID = 7989536251286357892L;
 
-  // ID
-  protected final String id = UUID.randomUUID().toString();
+  // ID, it's zero until the object is added to a world
+  protected long id;
 
   // same group is allies
-  private final Group group;
+  private Group group;
 
   // location
-  protected final PositionRectangle location;
+  protected PositionRectangle location;
 
   // alive flag
   protected boolean alive = false;
 
-  // health
-  private final AtomicInteger healthValue;
+  // health, it's only changed by the simulation thread
+  private volatile int healthValue;
 
   public GameObject(Group group, PositionRectangle location, int initialHealth) {
     this.group = group;
     this.location = location;
-    this.healthValue = new AtomicInteger(initialHealth);
+    this.healthValue = initialHealth;
+  }
+
+  /**
+   * reset this object to be reused as a new one, it's not alive until arise, and gets a new ID
+   * when it's added to a world again.
+   *
+   * @param group         <code>Group</code>
+   * @param location      location
+   * @param initialHealth initial health value
+   */
+  protected void reset(Group group, PositionRectangle location, int initialHealth) {
+    this.id = 0;
+    this.group = group;
+    this.location = location;
+    this.alive = false;
+    this.healthValue = initialHealth;
   }
 
   /**
    * Get it's ID
    *
-   * @return ID
+   * @return ID, or zero if the object has not been added to a world
    */
-  public String getId() {
+  public long getId() {
     return id;
   }
 
+  /**
+   * Set it's ID, it's assigned by the world when the object is added.
+   *
+   * @param id ID
+   */
+  public void setId(long id) {
+    this.id = id;
+  }
+
   /**
    * Get what Group it belongs to.
    *
@@ -80,6 +102,10 @@ public abstract class GameObject implements Lifecycle, Serializable {
   /**
    * Get it's location snapshot on the moment.
    *
+   * <p>The snapshots of a movable object are recycled, a snapshot stays unchanged for two moves
+   * only, so the caller must not keep the returned <code>Rectangle</code>, nor change it. Copy it
+   * if it's needed later.
+   *
    * @return <code>Rectangle</code>
    */
   public Rectangle getLocation() {
@@ -107,17 +133,17 @@ public abstract class GameObject implements Lifecycle, Serializable {
 
   @Override
   public int getHealthValue() {
-    return healthValue.intValue();
+    return healthValue;
   }
 
   @Override
   public void damage(int damage) {
-    healthValue.addAndGet(-damage);
+    healthValue -= damage;
   }
 
   @Override
   public boolean isAlive() {
-    return alive && healthValue.get() > 0;
+    return alive && healthValue > 0;
   }
 
   @Override
@@ -129,11 +155,11 @@ public abstract class GameObject implements Lifecycle, Serializable {
       return false;
     }
     GameObject that = (GameObject) o;
-    return id.equals(that.id);
+    return id != 0 && id == that.id;
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(id);
+    return Long.hashCode(id);
   }
 }
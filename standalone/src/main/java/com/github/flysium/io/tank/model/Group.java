@@ -75,4 +75,23 @@ public class Group implements java.io.Serializable {
    */
   public static final Group ENEMY_GROUP = new Group("enemy");
 
+  /**
+   * Get the <code>Group</code> by the group code, one of the constants if it matches.
+   *
+   * @param groupCode Group Code
+   * @return <code>Group</code>
+   */
+  public static Group valueOf(String groupCode) {
+    if (SYSTEM_GROUP.groupCode.equals(groupCode)) {
+      return SYSTEM_GROUP;
+    }
+    if (MAIN_GROUP.groupCode.equals(groupCode)) {
+      return MAIN_GROUP;
+    }
+    if (ENEMY_GROUP.groupCode.equals(groupCode)) {
+      return ENEMY_GROUP;
+    }
+    return new Group(groupCode);
+  }
+
 }
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2020 SvenAugustus
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.flysium.io.tank.service;
+
+import com.github.flysium.io.tank.config.utils.LogUtils;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Background autosave of a world into a <code>SnapshotRing</code>.
+ *
+ * <p>A save is captured by the simulation thread at the next tick, then encoded and written by the
+ * autosave thread, so saving never blocks the input or render threads. If the autosave thread is
+ * behind, only the newest capture is written. The world is also saved periodically if the interval
+ * is positive.
+ *
+ * <p>A load is requested through the simulation thread too, so it's ordered after any save requested
+ * before it. It's read and decoded by the autosave thread after that save is written, and the
+ * world is restored by the simulation thread at the next tick.
+ *
+ * @author Sven Augustus
+ * @version 1.0
+ */
+public class AutosaveService {
+
+  private final GameModel gameModel;
+  private final File file;
+  private final int slots;
+  private final int slotSize;
+  private final long intervalNanos;
+
+  // the newest capture which is not written yet
+  private final AtomicReference<GameSnapshot> pending = new AtomicReference<>();
+
+  // whether a load is requested
+  private final AtomicBoolean loadRequested = new AtomicBoolean();
+
+  private final Thread thread;
+  private SnapshotRing ring;
+
+  /**
+   * Create an autosave service, the ring file is opened on the first use.
+   *
+   * @param gameModel      <code>GameModel</code>
+   * @param file           ring file
+   * @param slots          count of slots
+   * @param slotSize       bytes of a slot
+   * @param intervalMillis interval of periodic saves, or zero to save on request only
+   */
+  public AutosaveService(GameModel gameModel, File file, int slots, int slotSize,
+      int intervalMillis) {
+    this.gameModel = gameModel;
+    this.file = file;
+    this.slots = slots;
+    this.slotSize = slotSize;
+    this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, intervalMillis));
+    this.thread = new Thread(this::run, "autosave");
+    this.thread.setDaemon(true);
+  }
+
+  /**
+   * start the autosave thread.
+   */
+  public void start() {
+    thread.start();
+  }
+
+  /**
+   * request a save, it never blocks. The world is captured by the next tick.
+   */
+  public void requestSave() {
+    gameModel.submit(() -> {
+      pending.set(gameModel.snapshot());
+      LockSupport.unpark(thread);
+    });
+  }
+
+  /**
+   * request a load of the newest valid save, it never blocks. The request is passed on by the next
+   * tick, after the captures of the saves requested before it, then the save is read by the
+   * autosave thread, and the world is replaced by the next tick after that.
+   */
+  public void requestLoad() {
+    gameModel.submit(() -> {
+      loadRequested.set(true);
+      LockSupport.unpark(thread);
+    });
+  }
+
+  private synchronized SnapshotRing ring() throws IOException {
+    if (ring == null) {
+      ring = new SnapshotRing(file, slots, slotSize);
+    }
+    return ring;
+  }
+
+  private void run() {
+    long nextSave = System.nanoTime() + intervalNanos;
+    while (!Thread.currentThread().isInterrupted()) {
+      // a load is requested after the capture before it, so take the request first, then the
+      // capture is either pending or written already
+      final boolean load = loadRequested.getAndSet(false);
+      GameSnapshot snapshot = pending.getAndSet(null);
+      if (snapshot != null) {
+        write(snapshot);
+      }
+      if (load) {
+        load();
+      }
+      if (intervalNanos > 0) {
+        final long now = System.nanoTime();
+        if (now - nextSave >= 0) {
+          requestSave();
+          nextSave = now + intervalNanos;
+        }
+        LockSupport.parkNanos(this, nextSave - now);
+      } else {
+        LockSupport.park(this);
+      }
+    }
+  }
+
+  private void load() {
+    try {
+      ByteBuffer buffer = ring().readLatest();
+      if (buffer == null) {
+        LogUtils.info("no saved game");
+        return;
+      }
+      GameSnapshot snapshot = GameSnapshot.decode(buffer);
+      gameModel.submit(() -> gameModel.restore(snapshot));
+      LogUtils.info("game loaded: %s records", snapshot.size());
+    } catch (IOException e) {
+      LogUtils.error(e, "failed to load game: %s", file.getAbsolutePath());
+    }
+  }
+
+  private void write(GameSnapshot snapshot) {
+    try {
+      final long generation = ring().write(snapshot.encode());
+      LogUtils.debug("game saved: %s, generation %s", file.getAbsolutePath(), generation);
+    } catch (IOException e) {
+      LogUtils.error(e, "failed to save game: %s", file.getAbsolutePath());
+    }
+  }
+
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2020 SvenAugustus
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.flysium.io.tank.service;
+
+import com.github.flysium.io.tank.model.Explode;
+import com.github.flysium.io.tank.model.GameObject;
+import com.github.flysium.io.tank.model.Movable;
+import com.github.flysium.io.tank.service.painter.DirtyRegions;
+import com.github.flysium.io.tank.service.painter.StaticLayer;
+import java.awt.Rectangle;
+import java.util.Arrays;
+
+/**
+ * Tracker of the regions which are changed since the last frame. It remembers where each
+ * <code>GameObject</code> was painted and how it looked like (health, direction, step), by the
+ * slot of the <code>GameObjectStore</code>. A moved or changed object makes both the painted
+ * region and the current region dirty.
+ *
+ * <p>The painted regions are tracked instead of the previous snapshots of the moves, because a
+ * frame may be painted after several ticks, or none.
+ *
+ * <p>It is not thread-safe, it should be used by the thread which paints.
+ *
+ * @author Sven Augustus
+ * @version 1.0
+ */
+public class DirtyRegionTracker {
+
+  /**
+   * margin around an object, which covers the texts painted around it (e.g. health).
+   */
+  public static final int PAINT_MARGIN = 16;
+
+  // painted objects by slot, id is zero if there is nothing painted
+  private long[] ids = new long[64];
+  private int[] xs = new int[64];
+  private int[] ys = new int[64];
+  private int[] widths = new int[64];
+  private int[] heights = new int[64];
+  private int[] states = new int[64];
+  private int limit;
+
+  /**
+   * Track the objects, add the regions which are changed since the last frame.
+   *
+   * @param gameObjects <code>GameObjectStore</code>
+   * @param staticLayer <code>StaticLayer</code> whose objects are not tracked, or null
+   * @param dirty       <code>DirtyRegions</code>
+   */
+  public void track(GameObjectStore gameObjects, StaticLayer staticLayer, DirtyRegions dirty) {
+    final int storeLimit = gameObjects.limit();
+    ensureCapacity(storeLimit);
+    final int trackLimit = Math.max(limit, storeLimit);
+    for (int slot = 0; slot < trackLimit; slot++) {
+      final GameObject gameObject = slot < storeLimit ? gameObjects.getAt(slot) : null;
+      final boolean visible = gameObject != null && gameObject.isAlive()
+          && (staticLayer == null || !staticLayer.isStatic(gameObject));
+      if (!visible) {
+        if (ids[slot] != 0) {
+          addPainted(slot, dirty);
+          ids[slot] = 0;
+        }
+        continue;
+      }
+      final Rectangle location = gameObject.getLocation();
+      final int state = stateOf(gameObject);
+      if (ids[slot] == gameObject.getId() && xs[slot] == location.x && ys[slot] == location.y
+          && widths[slot] == location.width && heights[slot] == location.height
+          && states[slot] == state) {
+        // unchanged
+        continue;
+      }
+      if (ids[slot] != 0) {
+        addPainted(slot, dirty);
+      }
+      ids[slot] = gameObject.getId();
+      xs[slot] = location.x;
+      ys[slot] = location.y;
+      widths[slot] = location.width;
+      heights[slot] = location.height;
+      states[slot] = state;
+      addPainted(slot, dirty);
+    }
+    limit = storeLimit;
+  }
+
+  /**
+   * Determines whether any object has moved since it's tracked, i.e. it has been moved by the
+   * simulation thread while painting, so the frame may be painted partially.
+   *
+   * @param gameObjects <code>GameObjectStore</code>
+   * @return return true if any object has moved, otherwise return false.
+   */
+  public boolean isMoved(GameObjectStore gameObjects) {
+    final int storeLimit = Math.min(limit, gameObjects.limit());
+    for (int slot = 0; slot < storeLimit; slot++) {
+      if (ids[slot] == 0) {
+        continue;
+      }
+      final GameObject gameObject = gameObjects.getAt(slot);
+      if (gameObject == null || gameObject.getId() != ids[slot]) {
+        return true;
+      }
+      final Rectangle location = gameObject.getLocation();
+      if (xs[slot] != location.x || ys[slot] != location.y) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Determines whether the region around the object intersects the specified region.
+   *
+   * @param gameObject <code>GameObject</code>
+   * @param region     region
+   * @return return true if they intersects, otherwise return false.
+   */
+  public static boolean intersects(GameObject gameObject, Rectangle region) {
+    final Rectangle location = gameObject.getLocation();
+    return location.x - PAINT_MARGIN < region.x + region.width
+        && region.x < location.x + location.width + PAINT_MARGIN
+        && location.y - PAINT_MARGIN < region.y + region.height
+        && region.y < location.y + location.height + PAINT_MARGIN;
+  }
+
+  private void addPainted(int slot, DirtyRegions dirty) {
+    dirty.add(xs[slot] - PAINT_MARGIN, ys[slot] - PAINT_MARGIN,
+        widths[slot] + PAINT_MARGIN * 2, heights[slot] + PAINT_MARGIN * 2);
+  }
+
+  private static int stateOf(GameObject gameObject) {
+    int state = gameObject.getHealthValue();
+    if (gameObject instanceof Movable) {
+      state = state * 31 + ((Movable) gameObject).getDirection().ordinal();
+    }
+    if (gameObject instanceof Explode) {
+      state = state * 31 + ((Explode) gameObject).getStep();
+    }
+    return state;
+  }
+
+  private void ensureCapacity(int capacity) {
+    if (capacity <= ids.length) {
+      return;
+    }
+    final int newCapacity = Math.max(capacity, ids.length * 2);
+    ids = Arrays.copyOf(ids, newCapacity);
+    xs = Arrays.copyOf(xs, newCapacity);
+    ys = Arrays.copyOf(ys, newCapacity);
+    widths = Arrays.copyOf(widths, newCapacity);
+    heights = Arrays.copyOf(heights, newCapacity);
+    states = Arrays.copyOf(states, newCapacity);
+  }
+
+}
@@ -26,39 +26,45 @@ import com.github.flysium.io.tank.Main;
 import com.github.flysium.io.tank.config.AutomaticConfig;
 import com.github.flysium.io.tank.config.GameConfig;
 import com.github.flysium.io.tank.config.ResourceManager;
+import com.github.flysium.io.tank.config.utils.LogUtils;
 import com.github.flysium.io.tank.model.Bullet;
 import com.github.flysium.io.tank.model.BulletAttributes;
 import com.github.flysium.io.tank.model.Direction;
 import com.github.flysium.io.tank.model.Explode;
 import com.github.flysium.io.tank.model.FinalRectangle;
+import com.github.flysium.io.tank.model.Flyable;
 import com.github.flysium.io.tank.model.GameObject;
 import com.github.flysium.io.tank.model.Group;
-import com.github.flysium.io.tank.model.Lifecycle;
+import com.github.flysium.io.tank.model.Movable;
 import com.github.flysium.io.tank.model.StaticRectangle;
 import com.github.flysium.io.tank.model.Tank;
 import com.github.flysium.io.tank.model.TankAttributes;
 import com.github.flysium.io.tank.model.Wall;
+import com.github.flysium.io.tank.service.automatic.AutomaticExecutor;
 import com.github.flysium.io.tank.service.automatic.AutomaticStrategy;
 import com.github.flysium.io.tank.service.automatic.RandomAutomaticStrategy;
+import com.github.flysium.io.tank.service.collision.BulletTankPhysicsCollisionDetector;
 import com.github.flysium.io.tank.service.collision.PhysicsCollisionDetectorChain;
+import com.github.flysium.io.tank.service.collision.SpatialHashGrid;
+import com.github.flysium.io.tank.service.collision.StaticWallIndex;
 import com.github.flysium.io.tank.service.fire.DefaultFireStrategy;
 import com.github.flysium.io.tank.service.fire.FireStrategy;
+import com.github.flysium.io.tank.service.journal.InputJournal;
 import com.github.flysium.io.tank.service.objectfactory.DefaultGameObjectFactory;
 import com.github.flysium.io.tank.service.objectfactory.GameObjectFactory;
+import com.github.flysium.io.tank.service.painter.DirtyRegions;
 import com.github.flysium.io.tank.service.painter.GameObjectPainter;
 import com.github.flysium.io.tank.service.painter.SimpleGameObjectPainter;
+import com.github.flysium.io.tank.service.painter.StaticLayer;
 import java.awt.Color;
 import java.awt.Graphics;
+import java.awt.Rectangle;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
-import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 import java.lang.reflect.InvocationTargetException;
-import java.util.Collection;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
  * Game Model with manage all <code>GameObject</code>
@@ -68,29 +74,130 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class GameModel {
 
+  private static final String LOSE_MESSAGE = "You Lose the War !";
+  private static final String WIN_MESSAGE = "You Win the War !";
+  // max dirty regions of a frame, otherwise the whole frame is painted
+  private static final int MAX_DIRTY_REGIONS = 32;
+  // ticks between the checks of the state in the journal
+  private static final int CHECK_TICKS = 200;
+
   private final GameConfig gameConfig = GameConfig.getSingleton();
   private final FinalRectangle bounds;
 
   private final GameObjectPainter painter;
+  // static layer of background and walls, or null if it's disabled (painting thread only)
+  private final StaticLayer staticLayer;
+  // dirty regions (painting thread only)
+  private final DirtyRegionTracker dirtyRegionTracker = new DirtyRegionTracker();
+  private final DirtyRegions dirtyRegions = new DirtyRegions(MAX_DIRTY_REGIONS);
+  private final DirtyRegions previousDirtyRegions = new DirtyRegions(MAX_DIRTY_REGIONS);
+  private boolean dirtyCarryOver;
+  private int dirtyWallsVersion = -1;
+  // area of the messages
+  private final Rectangle messageArea;
+  // the painted message, or the painted counts when there is no message (painting thread only)
+  private String message;
+  private int messageWallsCount = -1;
+  private int messageTanksCount = -1;
+  private int messageBulletsCount = -1;
+  // headless world never plays audio, and never saves
+  private final boolean headless;
+  private final AutosaveService autosaveService;
   private final GameObjectFactory gameObjectFactory;
+  // default attributes of bullets, and the attributes to create a bullet (simulation thread only)
+  private final BulletAttributes mainTankBulletAttributes;
+  private final BulletAttributes enemyTankBulletAttributes;
+  private final BulletAttributes bulletAttributes = new BulletAttributes();
   private final PhysicsCollisionDetectorChain physicsCollisionDetectorChain = new PhysicsCollisionDetectorChain();
-
-  private Tank mainTank;
-  private final Map<String, GameObject> gameObjects = new ConcurrentHashMap<>();
+  private final SpatialHashGrid broadphase = new SpatialHashGrid(
+      gameConfig.getCollisionCellSize());
+  private final StaticWallIndex wallIndex = new StaticWallIndex(
+      gameConfig.getCollisionWallCellSize());
+  // walls are changed when the version is increased, the index is rebuilt by the next tick
+  private volatile int wallsVersion;
+  private int wallIndexVersion = -1;
+  private final List<Wall> walls = new ArrayList<>();
+  // swept area of a bullet (simulation thread only)
+  private final Rectangle sweptBounds = new Rectangle();
+
+  private volatile Tank mainTank;
+  private final GameObjectStore gameObjects = new GameObjectStore();
   private transient volatile boolean stop = false;
 
+  // commands from the other threads, executed at the beginning of the next tick
+  private final Queue<Runnable> commands = new ConcurrentLinkedQueue<>();
+
+  // count of ticks, the commands of a tick are stamped with it (simulation thread only)
+  private long ticks;
+  // source of random draws, and the journal which records the inputs if it's recording
+  private RandomSource randomSource;
+  private InputJournal journal;
+
+  // singleton instance.
+  private static volatile GameModel singleton;
+
   public static GameModel getSingleton() {
-    return Holder.INSTANCE;
+    GameModel gameModel = singleton;
+    if (gameModel == null) {
+      synchronized (GameModel.class) {
+        gameModel = singleton;
+        if (gameModel == null) {
+          singleton = gameModel = new GameModel();
+        }
+      }
+    }
+    return gameModel;
+  }
+
+  /**
+   * Install the singleton instance, e.g. a headless world. It should be called before any
+   * <code>Tank</code> fires, because the fire strategies create bullets in the singleton.
+   *
+   * @param gameModel <code>GameModel</code>
+   */
+  public static void setSingleton(GameModel gameModel) {
+    synchronized (GameModel.class) {
+      singleton = gameModel;
+    }
   }
 
   private GameModel() {
-    this(Main.FINAL_RECTANGLE);
+    this(Main.FINAL_RECTANGLE, null, false);
   }
 
-  private GameModel(final FinalRectangle bounds) {
+  /**
+   * Create a world.
+   *
+   * @param bounds   bounds of the world
+   * @param painter  <code>GameObjectPainter</code> which gives the shapes of objects, or null to
+   *                 use the configured one
+   * @param headless if it is true, the world never plays audio, and never saves
+   */
+  public GameModel(final FinalRectangle bounds, GameObjectPainter painter, boolean headless) {
     this.bounds = bounds;
-    this.painter = newGameObjectPainter(gameConfig.getPainter());
-    this.gameObjectFactory = new DefaultGameObjectFactory();
+    this.painter = painter != null ? painter : newGameObjectPainter(gameConfig.getPainter());
+    this.headless = headless;
+    this.staticLayer = gameConfig.isStaticLayer() ? new StaticLayer(this.painter,
+        bounds.x + bounds.width, bounds.y + bounds.height) : null;
+    this.messageArea = new Rectangle(0, 20, bounds.x + bounds.width, 30);
+    this.gameObjectFactory = newGameObjectFactory(gameConfig.getGameObjectFactory());
+    final Long randomSeed = gameConfig.getRandomSeed();
+    this.randomSource = randomSeed != null ? RandomSource.seeded(randomSeed)
+        : RandomSource.unseeded();
+    this.autosaveService = headless ? null : new AutosaveService(this,
+        new File(System.getProperty("user.home") + "/tankWar.autosave"),
+        gameConfig.getAutosaveSlots(), gameConfig.getAutosaveSlotSize(),
+        gameConfig.getAutosaveMillis());
+    this.mainTankBulletAttributes = BulletAttributes.builder()
+        .shape(this.painter.getBulletShape(Group.MAIN_GROUP))
+        .bulletFlyingSpeed(gameConfig.getMainTankBulletFlyingSpeed())
+        .damageValue(gameConfig.getMainTankBulletDamage())
+        .build();
+    this.enemyTankBulletAttributes = BulletAttributes.builder()
+        .shape(this.painter.getBulletShape(Group.ENEMY_GROUP))
+        .bulletFlyingSpeed(gameConfig.getEnemyTankBulletFlyingSpeed())
+        .damageValue(gameConfig.getEnemyTankBulletDamage())
+        .build();
 
     // init main tank
     this.mainTank = createTank(Group.MAIN_GROUP, 50, 50);
@@ -123,51 +230,321 @@ public class GameModel {
       Class<GameObjectPainter> clazz = (Class<GameObjectPainter>) Class.forName(clazzName);
       return clazz.newInstance();
     } catch (InstantiationException | IllegalAccessException | ClassNotFoundException e) {
-      e.printStackTrace();
+      LogUtils.error(e, "failed to create %s: %s", "GameObjectPainter", clazzName);
     }
     return new SimpleGameObjectPainter();
   }
 
   /**
-   * paint <code>Graphics</code>
+   * Submit a command which changes the world, it's executed by the simulation thread at the
+   * beginning of the next tick.
    *
-   * @param g Graphics
+   * @param command command
    */
-  public void paint(Graphics g) {
+  public void submit(Runnable command) {
+    commands.offer(command);
+  }
+
+  /**
+   * Advance the world by one fixed timestep: execute commands, fly bullets, advance explosions,
+   * detect physics collisions and remove the dead objects.
+   */
+  public void tick() {
+    ticks++;
+
+    // commands from input and automatic
+    Runnable command;
+    while ((command = commands.poll()) != null) {
+      command.run();
+    }
+
+    // flying and explosions
+    for (int slot = 0; slot < gameObjects.limit(); slot++) {
+      GameObject gameObject = gameObjects.getAt(slot);
+      if (gameObject == null || !gameObject.isAlive()) {
+        continue;
+      }
+      if (gameObject instanceof Flyable) {
+        ((Flyable) gameObject).fly();
+      } else if (gameObject instanceof Explode) {
+        ((Explode) gameObject).next();
+      }
+    }
+
     // detect and handle any physics collisions
-    physicsCollisionDetect(gameObjects.values(), gameObjects.values());
+    if (wallIndexVersion != wallsVersion) {
+      rebuildWallIndex();
+    }
+    physicsCollisionDetect();
 
-    // paint
-    gameObjects.forEach((id, gameObject) -> {
-      if (!gameObject.isAlive()) {
+    // lifecycle
+    for (int slot = 0; slot < gameObjects.limit(); slot++) {
+      GameObject gameObject = gameObjects.getAt(slot);
+      if (gameObject != null && !gameObject.isAlive()) {
         if (gameObject instanceof Tank) {
           Explode explode = createExplode((Tank) gameObject);
           explode.arise();
-          ResourceManager.getSingleton().asyncPlayExplodeAudio();
+          if (!headless) {
+            ResourceManager.getSingleton().asyncPlayExplodeAudio();
+          }
         }
-        gameObjects.remove(gameObject.getId());
-        return;
+        if (gameObject instanceof Wall) {
+          wallsVersion++;
+        }
+        gameObjects.remove(gameObject);
+        gameObjectFactory.release(gameObject);
       }
-      painter.paint(g, gameObject);
+    }
+
+    if (!mainTank.isAlive() || isEnemiesAllDead()) {
+      stop = true;
+    }
+
+    if (journal != null && ticks % CHECK_TICKS == 0) {
+      journal.recordCheck(ticks, stateHash());
+    }
+  }
+
+  /**
+   * Get the count of ticks.
+   *
+   * @return ticks
+   */
+  public long getTicks() {
+    return ticks;
+  }
+
+  /**
+   * Get the source of random draws of this world.
+   *
+   * @return <code>RandomSource</code>
+   */
+  public RandomSource getRandomSource() {
+    return randomSource;
+  }
+
+  /**
+   * Set the source of random draws, e.g. by a replay, or a seeded one to reproduce the decisions
+   * of the automatic. It should be called by the simulation thread.
+   *
+   * @param randomSource <code>RandomSource</code>
+   */
+  public void setRandomSource(RandomSource randomSource) {
+    this.randomSource = randomSource;
+  }
+
+  /**
+   * Start recording the inputs into a journal from the next tick. The world is replaced by it's own
+   * snapshot first, so that a replay starts from the same state.
+   *
+   * @return <code>InputJournal</code> which is being recorded
+   */
+  public InputJournal startRecording() {
+    InputJournal inputJournal = new InputJournal(painter.getClass().getName(), bounds);
+    submit(() -> {
+      final RandomSource source = randomSource;
+      this.randomSource = bound -> {
+        final int value = source.nextInt(bound);
+        inputJournal.recordRandom(ticks, bound, value);
+        return value;
+      };
+      this.journal = inputJournal;
+      restore(snapshot());
     });
+    return inputJournal;
+  }
+
+  /**
+   * hash of the state of the world, the objects by their order, kinds, locations, directions and
+   * health. It should be called by the simulation thread.
+   *
+   * @return hash
+   */
+  public long stateHash() {
+    long hash = ticks;
+    for (int slot = 0; slot < gameObjects.limit(); slot++) {
+      GameObject gameObject = gameObjects.getAt(slot);
+      if (gameObject == null) {
+        continue;
+      }
+      final Rectangle location = gameObject.getLocation();
+      hash = hash * 31 + GameObjectStats.kindOf(gameObject);
+      hash = hash * 31 + location.x;
+      hash = hash * 31 + location.y;
+      hash = hash * 31 + location.width;
+      hash = hash * 31 + location.height;
+      hash = hash * 31 + gameObject.getHealthValue();
+      hash = hash * 31 + (gameObject.isAlive() ? 1 : 0);
+      if (gameObject instanceof Movable) {
+        hash = hash * 31 + ((Movable) gameObject).getDirection().ordinal();
+      }
+    }
+    return hash;
+  }
+
+  /**
+   * new <code>GameObjectFactory</code>.
+   *
+   * @param clazzName class name of <code>GameObjectFactory</code>.
+   * @return <code>GameObjectFactory</code> instance.
+   */
+  @SuppressWarnings("unchecked")
+  private GameObjectFactory newGameObjectFactory(String clazzName) {
+    try {
+      Class<GameObjectFactory> clazz = (Class<GameObjectFactory>) Class.forName(clazzName);
+      return clazz.newInstance();
+    } catch (InstantiationException | IllegalAccessException | ClassNotFoundException e) {
+      LogUtils.error(e, "failed to create %s: %s", "GameObjectFactory", clazzName);
+    }
+    return new DefaultGameObjectFactory();
+  }
+
+  /**
+   * paint <code>Graphics</code>, it only reads the state of the world. The background and the
+   * walls are painted from the static layer if it's enabled, so the whole area is painted and it
+   * needs no clearing.
+   *
+   * @param g Graphics
+   */
+  public void paint(Graphics g) {
+    // background and walls
+    if (staticLayer != null) {
+      staticLayer.paint(g, wallsVersion, gameObjects);
+    } else {
+      painter.paintBackground(g, bounds.x + bounds.width, bounds.y + bounds.height);
+    }
+
+    // paint
+    for (GameObject gameObject : gameObjects) {
+      if (gameObject.isAlive() && (staticLayer == null || !staticLayer.isStatic(gameObject))) {
+        painter.paint(g, gameObject);
+      }
+    }
 
     // messages.
+    updateMessage();
+    paintMessage(g);
+  }
+
+  /**
+   * paint the regions which are changed since the last frame, on the <code>Graphics</code> which
+   * keeps the last frame (e.g. a back buffer). It should be called by one painting thread.
+   *
+   * @param g Graphics
+   * @return the painted regions, which should be shown on the screen.
+   */
+  public DirtyRegions paintDirty(Graphics g) {
+    dirtyRegions.clear();
+    if (dirtyCarryOver) {
+      // the last frame may be painted partially
+      dirtyRegions.addAll(previousDirtyRegions);
+    }
+    final int version = wallsVersion;
+    if (dirtyWallsVersion != version) {
+      dirtyRegions.markFull();
+      dirtyWallsVersion = version;
+    }
+    dirtyRegionTracker.track(gameObjects, staticLayer, dirtyRegions);
+    if (updateMessage()) {
+      dirtyRegions.add(messageArea.x, messageArea.y, messageArea.width, messageArea.height);
+    }
+
+    if (dirtyRegions.isFull()) {
+      paint(g);
+    } else {
+      for (int i = 0; i < dirtyRegions.size(); i++) {
+        final Rectangle region = dirtyRegions.get(i);
+        g.setClip(region.x, region.y, region.width, region.height);
+        if (staticLayer != null) {
+          staticLayer.paint(g, version, gameObjects);
+        } else {
+          painter.paintBackground(g, bounds.x + bounds.width, bounds.y + bounds.height);
+        }
+        for (int slot = 0; slot < gameObjects.limit(); slot++) {
+          GameObject gameObject = gameObjects.getAt(slot);
+          if (gameObject != null && gameObject.isAlive()
+              && (staticLayer == null || !staticLayer.isStatic(gameObject))
+              && DirtyRegionTracker.intersects(gameObject, region)) {
+            painter.paint(g, gameObject);
+          }
+        }
+        if (region.intersects(messageArea)) {
+          paintMessage(g);
+        }
+      }
+      g.setClip(null);
+    }
+
+    dirtyCarryOver = dirtyRegionTracker.isMoved(gameObjects);
+    if (dirtyCarryOver) {
+      previousDirtyRegions.clear();
+      previousDirtyRegions.addAll(dirtyRegions);
+    }
+    return dirtyRegions;
+  }
+
+  /**
+   * update the message, or the counts of walls, tanks and bullets when the war is not over.
+   *
+   * @return true if anything to paint is changed
+   */
+  private boolean updateMessage() {
+    final String message;
     if (!mainTank.isAlive()) {
-      painter.paint(g, Color.RED, "You Lose the War !");
-      stop = true;
-    } else if (gameObjects.values().stream()
-        .filter(gameObject -> gameObject instanceof Tank && Group.ENEMY_GROUP
-            .equals(gameObject.getGroup())).noneMatch(
-            Lifecycle::isAlive)) {
-      painter.paint(g, Color.BLUE, "You Win the War !");
-      stop = true;
+      message = LOSE_MESSAGE;
+    } else if (isEnemiesAllDead()) {
+      message = WIN_MESSAGE;
     } else {
-      long wallsCount = gameObjects.values().stream().filter(o -> o instanceof Wall).count();
-      long tanksCount = gameObjects.values().stream().filter(o -> o instanceof Tank).count();
-      long bulletsCount = gameObjects.values().stream().filter(o -> o instanceof Bullet).count();
-      painter.paint(g, Color.BLACK, "Walls: " + wallsCount + ", Tanks: " + tanksCount
-          + ", Bullets: " + bulletsCount);
+      message = null;
     }
+    final GameObjectStats stats = gameObjects.getStats();
+    final int wallsCount = stats.getWallCount();
+    final int tanksCount = stats.getTankCount();
+    final int bulletsCount = stats.getBulletCount();
+    final boolean changed = message != null ? !message.equals(this.message)
+        : this.message != null || wallsCount != messageWallsCount
+            || tanksCount != messageTanksCount || bulletsCount != messageBulletsCount;
+    this.message = message;
+    messageWallsCount = wallsCount;
+    messageTanksCount = tanksCount;
+    messageBulletsCount = bulletsCount;
+    return changed;
+  }
+
+  /**
+   * paint the message, the counts are painted from fixed labels and integers, so that a change of
+   * the counts never renders a new text.
+   */
+  private void paintMessage(Graphics g) {
+    if (message != null) {
+      painter.paint(g, messageColor(message), message);
+    } else {
+      painter.paintCounts(g, messageColor(null), messageWallsCount, messageTanksCount,
+          messageBulletsCount);
+    }
+  }
+
+  private static Color messageColor(String message) {
+    if (LOSE_MESSAGE.equals(message)) {
+      return Color.RED;
+    } else if (WIN_MESSAGE.equals(message)) {
+      return Color.BLUE;
+    }
+    return Color.BLACK;
+  }
+
+  private boolean isEnemiesAllDead() {
+    // the dead tanks are removed by the end of each tick
+    return gameObjects.getStats().getTankCount(Group.ENEMY_GROUP) == 0;
+  }
+
+  /**
+   * Get the live counts of the <code>GameObject</code>s by kind and group.
+   *
+   * @return <code>GameObjectStats</code>
+   */
+  public GameObjectStats getStats() {
+    return gameObjects.getStats();
   }
 
   /**
@@ -180,40 +557,173 @@ public class GameModel {
   }
 
   /**
-   * detect and handle any physics collisions
+   * Get a copy of the <code>GameObject</code>s in the world.
+   *
+   * @return <code>GameObject</code>s
    */
-  private void physicsCollisionDetect(Collection<? extends GameObject> as,
-      Collection<? extends GameObject> bs) {
-    for (GameObject a : as) {
-      for (GameObject b : bs) {
-        if (a != b) {
-          if (physicsCollisionDetectorChain.detect(a, b)) {
-            break;
-          }
+  public List<GameObject> getGameObjects() {
+    List<GameObject> list = new ArrayList<>(gameObjects.size());
+    gameObjects.forEach(list::add);
+    return list;
+  }
+
+  /**
+   * Get the <code>GameObjectFactory</code>
+   *
+   * @return <code>GameObjectFactory</code>
+   */
+  public GameObjectFactory getGameObjectFactory() {
+    return gameObjectFactory;
+  }
+
+  /**
+   * detect and handle any physics collisions, only the pairs which share a cell of the broadphase
+   * grid reach the <code>PhysicsCollisionDetectorChain</code>. The dead objects never collide, so
+   * they are not inserted. The walls never move, they are looked up in the
+   * <code>StaticWallIndex</code> by the other objects instead. The bullets take part by the area
+   * swept in this tick, stopped at the first wall they sweep through, so that a bullet never hits
+   * a tank behind a wall.
+   */
+  private void physicsCollisionDetect() {
+    broadphase.clear();
+    final int limit = gameObjects.limit();
+    for (int slot = 0; slot < limit; slot++) {
+      GameObject gameObject = gameObjects.getAt(slot);
+      if (gameObject == null || !gameObject.isAlive() || gameObject instanceof Wall) {
+        continue;
+      }
+      if (gameObject instanceof Bullet) {
+        final Rectangle swept = clipBulletAtWalls((Bullet) gameObject);
+        broadphase.insert(gameObject, swept.x, swept.y, swept.width, swept.height);
+      } else {
+        final Rectangle location = gameObject.getLocation();
+        broadphase.insert(gameObject, location.x, location.y, location.width, location.height);
+      }
+    }
+    final int size = broadphase.size();
+    clipBulletsAtTanks(size);
+    for (int i = 0; i < size; i++) {
+      final GameObject a = broadphase.get(i);
+      final int count = broadphase.query(i);
+      boolean handled = false;
+      for (int k = 0; k < count && !handled; k++) {
+        handled = physicsCollisionDetectorChain
+            .detect(a, broadphase.get(broadphase.getCandidate(k)));
+      }
+      if (handled) {
+        continue;
+      }
+      final int wallCount;
+      if (a instanceof Bullet) {
+        final Rectangle swept = sweptBounds((Bullet) a);
+        wallCount = wallIndex.query(swept.x, swept.y, swept.width, swept.height);
+      } else {
+        // tanks may be backed off by a collision
+        final Rectangle location = a.getLocation();
+        wallCount = wallIndex.query(location.x, location.y, location.width, location.height);
+      }
+      for (int k = 0; k < wallCount; k++) {
+        if (physicsCollisionDetectorChain.detect(a, wallIndex.getCandidate(k))) {
+          break;
+        }
+      }
+    }
+  }
+
+  /**
+   * stop the bullets at the first tank they can hit along the area they sweep through in this
+   * tick, like at the walls, so that a bullet only hits the nearest tank, never a tank behind it.
+   *
+   * @param size count of objects in the broadphase
+   */
+  private void clipBulletsAtTanks(int size) {
+    for (int i = 0; i < size; i++) {
+      final GameObject a = broadphase.get(i);
+      if (!(a instanceof Bullet) || !a.isAlive()) {
+        continue;
+      }
+      final Bullet bullet = (Bullet) a;
+      final int count = broadphase.query(i);
+      for (int k = 0; k < count; k++) {
+        final GameObject b = broadphase.get(broadphase.getCandidate(k));
+        if (b instanceof Tank && BulletTankPhysicsCollisionDetector.canHit(bullet, (Tank) b)) {
+          bullet.clipSweep(b.getLocation());
         }
       }
     }
   }
 
+  /**
+   * bake the alive walls into the <code>StaticWallIndex</code>.
+   */
+  private void rebuildWallIndex() {
+    final int version = wallsVersion;
+    walls.clear();
+    for (int slot = 0; slot < gameObjects.limit(); slot++) {
+      GameObject gameObject = gameObjects.getAt(slot);
+      if (gameObject instanceof Wall && gameObject.isAlive()) {
+        walls.add((Wall) gameObject);
+      }
+    }
+    wallIndex.rebuild(walls);
+    walls.clear();
+    wallIndexVersion = version;
+  }
+
+  /**
+   * stop the bullet at the walls it sweeps through in this tick.
+   *
+   * @param bullet bullet
+   * @return the area swept by the bullet, after clipping
+   */
+  private Rectangle clipBulletAtWalls(Bullet bullet) {
+    Rectangle swept = sweptBounds(bullet);
+    final int wallCount = wallIndex.query(swept.x, swept.y, swept.width, swept.height);
+    for (int k = 0; k < wallCount; k++) {
+      if (bullet.clipSweep(wallIndex.getCandidate(k).getLocation())) {
+        swept = sweptBounds(bullet);
+      }
+    }
+    return swept;
+  }
+
+  /**
+   * the area swept by the bullet in this tick.
+   */
+  private Rectangle sweptBounds(Bullet bullet) {
+    final Rectangle from = bullet.getPreviousLocation();
+    final Rectangle to = bullet.getLocation();
+    final int x1 = Math.min(from.x, to.x);
+    final int y1 = Math.min(from.y, to.y);
+    sweptBounds.setBounds(x1, y1, Math.max(from.x + from.width, to.x + to.width) - x1,
+        Math.max(from.y + from.height, to.y + to.height) - y1);
+    return sweptBounds;
+  }
+
   /**
    * create a tank
    */
   private Tank createTank(Group group, final int x, final int y) {
-    return createTank(group, x, y,
-        TankAttributes.builder()
-            .initialHealth(Group.MAIN_GROUP.equals(group) ?
-                gameConfig.getMainTankInitialHealth()
-                : gameConfig.getEnemyTankInitialHealth())
-            .initialDirection(Direction.RIGHT)
-            .shape(painter.getTankShape(group))
-            .bounds(this.bounds)
-            .movingSpeed(Group.MAIN_GROUP.equals(group) ?
-                gameConfig.getMainTankMovingSpeed()
-                : gameConfig.getEnemyTankMovingSpeed())
-            .fireStrategy(newFireStrategy(Group.MAIN_GROUP.equals(group) ?
-                gameConfig.getMainTankFireStrategy() :
-                gameConfig.getEnemyTankFireStrategy()))
-            .build());
+    return createTank(group, x, y, tankAttributes(group).build());
+  }
+
+  /**
+   * the configured attributes of tanks in the group.
+   */
+  private TankAttributes.Builder tankAttributes(Group group) {
+    return TankAttributes.builder()
+        .initialHealth(Group.MAIN_GROUP.equals(group) ?
+            gameConfig.getMainTankInitialHealth()
+            : gameConfig.getEnemyTankInitialHealth())
+        .initialDirection(Direction.RIGHT)
+        .shape(painter.getTankShape(group))
+        .bounds(this.bounds)
+        .movingSpeed(Group.MAIN_GROUP.equals(group) ?
+            gameConfig.getMainTankMovingSpeed()
+            : gameConfig.getEnemyTankMovingSpeed())
+        .fireStrategy(newFireStrategy(Group.MAIN_GROUP.equals(group) ?
+            gameConfig.getMainTankFireStrategy() :
+            gameConfig.getEnemyTankFireStrategy()));
   }
 
   /**
@@ -221,7 +731,7 @@ public class GameModel {
    */
   private Tank createTank(Group group, final int x, final int y, TankAttributes attributes) {
     Tank tank = gameObjectFactory.createTank(group, x, y, attributes);
-    gameObjects.putIfAbsent(tank.getId(), tank);
+    gameObjects.add(tank);
     return tank;
   }
 
@@ -237,7 +747,7 @@ public class GameModel {
       Class<FireStrategy> clazz = (Class<FireStrategy>) Class.forName(clazzName);
       return clazz.newInstance();
     } catch (InstantiationException | IllegalAccessException | ClassNotFoundException e) {
-      e.printStackTrace();
+      LogUtils.error(e, "failed to create %s: %s", "FireStrategy", clazzName);
     }
     return new DefaultFireStrategy();
   }
@@ -247,25 +757,19 @@ public class GameModel {
    */
   public Explode createExplode(Tank tank) {
     Explode explode = gameObjectFactory.createExplode(tank);
-    gameObjects.putIfAbsent(explode.getId(), explode);
+    gameObjects.add(explode);
     return explode;
   }
 
   /**
-   * create a bullet and make it fly
+   * create a bullet and make it fly, it should be called by the simulation thread.
    */
   public Bullet createBullet(Tank tank, BulletAttributes attributes) {
     Bullet bullet = gameObjectFactory.createBullet(tank,
-        attributes.defaultOf(BulletAttributes.builder()
-            .shape(painter.getBulletShape(tank.getGroup()))
-            .bulletFlyingSpeed(Group.MAIN_GROUP.equals(tank.getGroup()) ?
-                gameConfig.getMainTankBulletFlyingSpeed()
-                : gameConfig.getEnemyTankBulletFlyingSpeed())
-            .damageValue(Group.MAIN_GROUP.equals(tank.getGroup()) ?
-                gameConfig.getMainTankBulletDamage() :
-                gameConfig.getEnemyTankBulletDamage())
-            .build()));
-    gameObjects.putIfAbsent(bullet.getId(), bullet);
+        bulletAttributes.copyFrom(attributes).defaultOf(
+            Group.MAIN_GROUP.equals(tank.getGroup()) ? mainTankBulletAttributes
+                : enemyTankBulletAttributes));
+    gameObjects.add(bullet);
     return bullet;
   }
 
@@ -274,28 +778,73 @@ public class GameModel {
    */
   public Wall createWall(StaticRectangle rectangle) {
     Wall wall = new Wall(rectangle);
-    gameObjects.putIfAbsent(wall.getId(), wall);
+    gameObjects.add(wall);
+    wallsVersion++;
     return wall;
   }
 
   private final AutomaticConfig automaticConfig = AutomaticConfig.getSingleton();
-  private final AutomaticStrategy automaticStrategy = newAutomaticStrategy(
-      automaticConfig.getEnemyTankStrategy());
+  private final AutomaticExecutor automaticExecutor = new AutomaticExecutor(
+      newAutomaticStrategy(automaticConfig.getEnemyTankStrategy()));
 
   /**
    * automatic make enemies tanks to action (stop, go, fire, etc.)
    */
   public void automatic() {
+    submit(this::applyAutomatic);
+  }
+
+  /**
+   * make enemies tanks to action, it should be called by the simulation thread. The tanks are
+   * decided in parallel against a capture of the world, and the decisions are applied in one batch.
+   */
+  public void applyAutomatic() {
+    if (journal != null) {
+      journal.recordAutomatic(ticks);
+    }
     if (stop) {
       return;
     }
-    gameObjects.values().stream()
-        .filter(gameObject -> gameObject instanceof Tank
-            && gameObject.isAlive()
-            && Group.ENEMY_GROUP.equals(gameObject.getGroup()))
-        .forEach(gameObject -> {
-          automaticStrategy.automatic((Tank) gameObject);
-        });
+    automaticExecutor.automatic(gameObjects, bounds, ticks, wallsVersion, randomSource);
+  }
+
+  /**
+   * move the main tank by the direction at the next tick.
+   *
+   * @param direction <code>Direction</code>
+   */
+  public void moveMainTankByDirection(Direction direction) {
+    submit(() -> applyMoveMainTank(direction));
+  }
+
+  /**
+   * move the main tank by the direction, it should be called by the simulation thread.
+   *
+   * @param direction <code>Direction</code>
+   */
+  public void applyMoveMainTank(Direction direction) {
+    if (journal != null) {
+      journal.recordMove(ticks, direction);
+    }
+    mainTank.changeDirection(direction);
+    mainTank.moveOn();
+  }
+
+  /**
+   * fire the main tank at the next tick.
+   */
+  public void fireMainTank() {
+    submit(this::applyFireMainTank);
+  }
+
+  /**
+   * fire the main tank, it should be called by the simulation thread.
+   */
+  public void applyFireMainTank() {
+    if (journal != null) {
+      journal.recordFire(ticks);
+    }
+    mainTank.fire();
   }
 
   /**
@@ -310,45 +859,110 @@ public class GameModel {
       Class<AutomaticStrategy> clazz = (Class<AutomaticStrategy>) Class.forName(clazzName);
       return clazz.getConstructor().newInstance();
     } catch (InstantiationException | IllegalAccessException | ClassNotFoundException | NoSuchMethodException | InvocationTargetException e) {
-      e.printStackTrace();
+      LogUtils.error(e, "failed to create %s: %s", "AutomaticStrategy", clazzName);
     }
     return new RandomAutomaticStrategy();
   }
 
-  private final File f = new File(System.getProperty("user.home") + "/tankWar.sav");
-
   /**
-   * Load to memory
+   * Load the newest valid save, it never blocks. It's ordered after the saves requested before
+   * it, the save is read and decoded by the autosave thread, and the world is replaced by the next
+   * tick after that.
    */
-  @SuppressWarnings("unchecked")
   public void load() {
-    try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(f))) {
-      this.mainTank = (Tank) ois.readObject();
-      Map<String, GameObject> gameObjects = (Map<String, GameObject>) ois.readObject();
-      this.gameObjects.clear();
-      this.gameObjects.putAll(gameObjects);
-      System.out.println("--------->Game Loaded:" + f.getAbsolutePath());
-    } catch (IOException | ClassNotFoundException e) {
-      e.printStackTrace();
+    if (autosaveService != null) {
+      autosaveService.requestLoad();
     }
   }
 
   /**
-   * Save to disk
+   * Save to the autosave ring, the world is captured by the next tick, and written by the autosave
+   * thread.
    */
   public void save() {
-    try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(f))) {
-      oos.writeObject(mainTank);
-      oos.writeObject(gameObjects);
-      System.out.println("--------->Game Saved:" + f.getAbsolutePath());
-    } catch (IOException e) {
-      e.printStackTrace();
+    if (autosaveService != null) {
+      autosaveService.requestSave();
     }
   }
 
-  private static class Holder {
+  /**
+   * Get the <code>AutosaveService</code>
+   *
+   * @return <code>AutosaveService</code>, or null for a headless world
+   */
+  public AutosaveService getAutosaveService() {
+    return autosaveService;
+  }
+
+  /**
+   * capture the state of the world, it should be called by the simulation thread.
+   *
+   * @return <code>GameSnapshot</code>
+   */
+  public GameSnapshot snapshot() {
+    return GameSnapshot.capture(mainTank, gameObjects);
+  }
 
-    // singleton instance.
-    static final GameModel INSTANCE = new GameModel();
+  /**
+   * replace the world by a snapshot, it should be called by the simulation thread. The objects are
+   * created with the configured shapes and strategies, and the state of the snapshot.
+   *
+   * @param snapshot <code>GameSnapshot</code>
+   */
+  public void restore(GameSnapshot snapshot) {
+    if (journal != null) {
+      journal.recordRestore(ticks, snapshot.encode());
+    }
+    gameObjects.clear();
+    wallsVersion++;
+    final GameObject[] restored = new GameObject[snapshot.size()];
+    for (int record = 0; record < snapshot.size(); record++) {
+      final Group group = Group.valueOf(snapshot.getGroupCode(record));
+      final int x = snapshot.getX(record);
+      final int y = snapshot.getY(record);
+      GameObject gameObject;
+      switch (snapshot.getKind(record)) {
+        case GameSnapshot.KIND_WALL:
+          gameObject = createWall(new StaticRectangle(x, y, snapshot.getWidth(record),
+              snapshot.getHeight(record)));
+          break;
+        case GameSnapshot.KIND_TANK:
+          TankAttributes attributes = tankAttributes(group)
+              .initialHealth(snapshot.getHealth(record))
+              .initialDirection(snapshot.getDirection(record))
+              .movingSpeed(snapshot.getSpeed(record))
+              .build();
+          gameObject = snapshot.isDetached(record)
+              ? gameObjectFactory.createTank(group, x, y, attributes)
+              : createTank(group, x, y, attributes);
+          break;
+        case GameSnapshot.KIND_BULLET:
+          Bullet bullet = createBullet((Tank) restored[snapshot.getOwner(record)],
+              BulletAttributes.builder()
+                  .initialDirection(snapshot.getDirection(record))
+                  .bulletFlyingSpeed(snapshot.getSpeed(record))
+                  .damageValue(snapshot.getDamage(record))
+                  .build());
+          bullet.restoreLocation(x, y, snapshot.getDirection(record));
+          gameObject = bullet;
+          break;
+        default:
+          Explode explode = createExplode((Tank) restored[snapshot.getOwner(record)]);
+          explode.restoreStep(snapshot.getStep(record));
+          gameObject = explode;
+          break;
+      }
+      if (gameObject.getHealthValue() != snapshot.getHealth(record)) {
+        gameObject.damage(gameObject.getHealthValue() - snapshot.getHealth(record));
+      }
+      if (snapshot.isAlive(record)) {
+        gameObject.arise();
+      }
+      restored[record] = gameObject;
+    }
+    if (snapshot.getMainTank() >= 0) {
+      this.mainTank = (Tank) restored[snapshot.getMainTank()];
+    }
   }
+
 }
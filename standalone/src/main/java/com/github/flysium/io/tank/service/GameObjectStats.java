@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2020 SvenAugustus
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.flysium.io.tank.service;
+
+import com.github.flysium.io.tank.model.Bullet;
+import com.github.flysium.io.tank.model.Explode;
+import com.github.flysium.io.tank.model.GameObject;
+import com.github.flysium.io.tank.model.Group;
+import com.github.flysium.io.tank.model.Tank;
+import com.github.flysium.io.tank.model.Wall;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Live counts of the <code>GameObject</code>s in a <code>GameObjectStore</code> by kind and by
+ * <code>Group</code>. They are updated when an object is added or removed, so reading a count is O(1).
+ *
+ * <p>It's updated by the writer of the store, and can be read by any thread.
+ *
+ * @author Sven Augustus
+ * @version 1.0
+ */
+public class GameObjectStats {
+
+  // kinds
+  public static final byte KIND_NONE = 0;
+  public static final byte KIND_TANK = 1;
+  public static final byte KIND_BULLET = 2;
+  public static final byte KIND_WALL = 3;
+  public static final byte KIND_EXPLODE = 4;
+  public static final byte KIND_OTHER = 5;
+
+  // groups
+  public static final byte GROUP_OTHER = 0;
+  public static final byte GROUP_SYSTEM = 1;
+  public static final byte GROUP_MAIN = 2;
+  public static final byte GROUP_ENEMY = 3;
+
+  private static final int KINDS = KIND_OTHER + 1;
+  private static final int GROUPS = GROUP_ENEMY + 1;
+
+  private final AtomicIntegerArray counts = new AtomicIntegerArray(KINDS * GROUPS);
+  private final AtomicIntegerArray kindCounts = new AtomicIntegerArray(KINDS);
+
+  void increment(GameObject gameObject) {
+    update(gameObject, 1);
+  }
+
+  void decrement(GameObject gameObject) {
+    update(gameObject, -1);
+  }
+
+  private void update(GameObject gameObject, int delta) {
+    final byte kind = kindOf(gameObject);
+    final byte group = groupOf(gameObject.getGroup());
+    counts.addAndGet(kind * GROUPS + group, delta);
+    kindCounts.addAndGet(kind, delta);
+  }
+
+  /**
+   * Get the count of a kind.
+   *
+   * @param kind kind, see <code>KIND_*</code>
+   * @return count
+   */
+  public int getCount(byte kind) {
+    return kindCounts.get(kind);
+  }
+
+  /**
+   * Get the count of a kind in a group.
+   *
+   * @param kind  kind, see <code>KIND_*</code>
+   * @param group group, see <code>GROUP_*</code>
+   * @return count
+   */
+  public int getCount(byte kind, byte group) {
+    return counts.get(kind * GROUPS + group);
+  }
+
+  public int getWallCount() {
+    return getCount(KIND_WALL);
+  }
+
+  public int getTankCount() {
+    return getCount(KIND_TANK);
+  }
+
+  public int getBulletCount() {
+    return getCount(KIND_BULLET);
+  }
+
+  public int getExplodeCount() {
+    return getCount(KIND_EXPLODE);
+  }
+
+  /**
+   * Get the count of tanks in a <code>Group</code>.
+   *
+   * @param group <code>Group</code>
+   * @return count
+   */
+  public int getTankCount(Group group) {
+    return getCount(KIND_TANK, groupOf(group));
+  }
+
+  /**
+   * Get the count of bullets in a <code>Group</code>.
+   *
+   * @param group <code>Group</code>
+   * @return count
+   */
+  public int getBulletCount(Group group) {
+    return getCount(KIND_BULLET, groupOf(group));
+  }
+
+  @Override
+  public String toString() {
+    return "walls: " + getWallCount()
+        + ", tanks: " + getTankCount()
+        + " (main: " + getTankCount(Group.MAIN_GROUP)
+        + ", enemy: " + getTankCount(Group.ENEMY_GROUP) + ")"
+        + ", bullets: " + getBulletCount()
+        + ", explodes: " + getExplodeCount();
+  }
+
+  static byte kindOf(GameObject gameObject) {
+    if (gameObject instanceof Bullet) {
+      return KIND_BULLET;
+    }
+    if (gameObject instanceof Tank) {
+      return KIND_TANK;
+    }
+    if (gameObject instanceof Wall) {
+      return KIND_WALL;
+    }
+    if (gameObject instanceof Explode) {
+      return KIND_EXPLODE;
+    }
+    return KIND_OTHER;
+  }
+
+  static byte groupOf(Group group) {
+    if (Group.ENEMY_GROUP.equals(group)) {
+      return GROUP_ENEMY;
+    }
+    if (Group.MAIN_GROUP.equals(group)) {
+      return GROUP_MAIN;
+    }
+    if (Group.SYSTEM_GROUP.equals(group)) {
+      return GROUP_SYSTEM;
+    }
+    return GROUP_OTHER;
+  }
+}
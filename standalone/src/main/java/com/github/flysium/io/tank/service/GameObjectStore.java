@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) 2020 SvenAugustus
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.flysium.io.tank.service;
+
+import com.github.flysium.io.tank.model.GameObject;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Storage of all <code>GameObject</code>s in a world, keyed by generational index.
+ *
+ * <p>Each object is put in a slot, and it's ID is the generation of the slot (high 32 bits) plus
+ * the slot (low 32 bits), so lookups never hash anything, and a stale ID of a removed object never
+ * matches the object which reuses the slot. The objects are iterated in the order of slots.
+ *
+ * <p>It's modified by the simulation thread, and can be read by the other threads (e.g. painting)
+ * at the same time.
+ *
+ * @author Sven Augustus
+ * @version 1.0
+ */
+public class GameObjectStore implements Iterable<GameObject> {
+
+  private volatile AtomicReferenceArray<GameObject> slots = new AtomicReferenceArray<>(256);
+
+  // generation of each slot
+  private int[] generations = new int[256];
+
+  // free slots, reused as a stack
+  private int[] freeSlots = new int[256];
+  private int freeCount;
+
+  // slots in [0, limit) have been used
+  private volatile int limit;
+
+  private volatile int size;
+
+  private final GameObjectStats stats = new GameObjectStats();
+
+  /**
+   * add a <code>GameObject</code> and assign it an ID.
+   *
+   * @param gameObject <code>GameObject</code>
+   * @return return true if it's added, or false if it's already in this store.
+   */
+  public synchronized boolean add(GameObject gameObject) {
+    if (contains(gameObject)) {
+      return false;
+    }
+    final int slot;
+    if (freeCount > 0) {
+      slot = freeSlots[--freeCount];
+    } else {
+      slot = limit;
+      ensureCapacity(slot + 1);
+      limit = slot + 1;
+    }
+    generations[slot]++;
+    gameObject.setId(((long) generations[slot] << 32) | slot);
+    slots.set(slot, gameObject);
+    size++;
+    stats.increment(gameObject);
+    return true;
+  }
+
+  /**
+   * remove a <code>GameObject</code>, it's slot will be reused by a new generation.
+   *
+   * @param gameObject <code>GameObject</code>
+   * @return return true if it's removed, or false if it's not in this store.
+   */
+  public synchronized boolean remove(GameObject gameObject) {
+    if (!contains(gameObject)) {
+      return false;
+    }
+    final int slot = slot(gameObject.getId());
+    slots.set(slot, null);
+    if (freeCount == freeSlots.length) {
+      freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+    }
+    freeSlots[freeCount++] = slot;
+    size--;
+    stats.decrement(gameObject);
+    return true;
+  }
+
+  /**
+   * remove all <code>GameObject</code>s, the slots are reused from the first one, so that the
+   * layout of the slots after clearing doesn't depend on the history.
+   */
+  public synchronized void clear() {
+    for (int slot = 0; slot < limit; slot++) {
+      GameObject gameObject = slots.get(slot);
+      if (gameObject != null) {
+        remove(gameObject);
+      }
+    }
+    freeCount = 0;
+    limit = 0;
+  }
+
+  /**
+   * Get the live counts of the <code>GameObject</code>s by kind and group.
+   *
+   * @return <code>GameObjectStats</code>
+   */
+  public GameObjectStats getStats() {
+    return stats;
+  }
+
+  /**
+   * Get the <code>GameObject</code> by ID.
+   *
+   * @param id ID
+   * @return <code>GameObject</code>, or null if it's not found.
+   */
+  public GameObject get(long id) {
+    final int slot = slot(id);
+    if (slot < 0 || slot >= limit) {
+      return null;
+    }
+    GameObject gameObject = slots.get(slot);
+    return gameObject != null && gameObject.getId() == id ? gameObject : null;
+  }
+
+  /**
+   * whether the <code>GameObject</code> is in this store or not.
+   *
+   * @param gameObject <code>GameObject</code>
+   * @return return true if it's in this store, otherwise return false.
+   */
+  public boolean contains(GameObject gameObject) {
+    return gameObject.getId() != 0 && get(gameObject.getId()) == gameObject;
+  }
+
+  /**
+   * Get the <code>GameObject</code> in the slot.
+   *
+   * @param slot slot, in [0, {@link #limit()})
+   * @return <code>GameObject</code>, or null if the slot is free.
+   */
+  public GameObject getAt(int slot) {
+    return slots.get(slot);
+  }
+
+  /**
+   * Get the limit of slots, all <code>GameObject</code>s are in the slots below it.
+   *
+   * @return limit of slots
+   */
+  public int limit() {
+    return limit;
+  }
+
+  /**
+   * Get the count of <code>GameObject</code>s.
+   *
+   * @return count
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Get the slot of an ID.
+   *
+   * @param id ID
+   * @return slot
+   */
+  public static int slot(long id) {
+    return (int) id;
+  }
+
+  public Stream<GameObject> stream() {
+    return StreamSupport.stream(spliterator(), false);
+  }
+
+  @Override
+  public Iterator<GameObject> iterator() {
+    return new SlotIterator(slots, limit);
+  }
+
+  private void ensureCapacity(int capacity) {
+    if (capacity <= generations.length) {
+      return;
+    }
+    final int newCapacity = Math.max(capacity, generations.length * 2);
+    generations = Arrays.copyOf(generations, newCapacity);
+    AtomicReferenceArray<GameObject> newSlots = new AtomicReferenceArray<>(newCapacity);
+    for (int slot = 0; slot < limit; slot++) {
+      newSlots.set(slot, slots.get(slot));
+    }
+    slots = newSlots;
+  }
+
+  private static final class SlotIterator implements Iterator<GameObject> {
+
+    private final AtomicReferenceArray<GameObject> slots;
+    private final int limit;
+    private int slot = -1;
+    private GameObject next;
+
+    SlotIterator(AtomicReferenceArray<GameObject> slots, int limit) {
+      this.slots = slots;
+      this.limit = Math.min(limit, slots.length());
+      advance();
+    }
+
+    private void advance() {
+      next = null;
+      while (next == null && ++slot < limit) {
+        next = slots.get(slot);
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      return next != null;
+    }
+
+    @Override
+    public GameObject next() {
+      if (next == null) {
+        throw new NoSuchElementException();
+      }
+      GameObject gameObject = next;
+      advance();
+      return gameObject;
+    }
+  }
+
+}
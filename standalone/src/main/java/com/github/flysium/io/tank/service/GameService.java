@@ -23,6 +23,7 @@
 package com.github.flysium.io.tank.service;
 
 import com.github.flysium.io.tank.model.Direction;
+import com.github.flysium.io.tank.service.painter.DirtyRegions;
 import java.awt.Graphics;
 
 /**
@@ -40,6 +41,14 @@ public interface GameService {
    */
   void paint(Graphics g);
 
+  /**
+   * paint the regions which are changed since the last frame on <code>Graphics</code>
+   *
+   * @param g Graphics which keeps the last frame
+   * @return the painted regions
+   */
+  DirtyRegions paintDirty(Graphics g);
+
   /**
    * Moves the main <code>Tank</code> by the specified <code>Direction</code>.
    *
@@ -24,7 +24,7 @@ package com.github.flysium.io.tank.service;
 
 import com.github.flysium.io.tank.config.ResourceManager;
 import com.github.flysium.io.tank.model.Direction;
-import com.github.flysium.io.tank.model.Tank;
+import com.github.flysium.io.tank.service.painter.DirtyRegions;
 import java.awt.Graphics;
 
 /**
@@ -42,17 +42,20 @@ public class GameServiceImpl implements GameService {
     gameModel.paint(g);
   }
 
+  @Override
+  public DirtyRegions paintDirty(Graphics g) {
+    return gameModel.paintDirty(g);
+  }
+
   @Override
   public void moveMainTankByDirection(Direction direction) {
-    Tank mainTank = gameModel.getMainTank();
-    mainTank.changeDirection(direction);
-    mainTank.moveOn();
+    gameModel.moveMainTankByDirection(direction);
     ResourceManager.getSingleton().asyncPlayMoveAudio();
   }
 
   @Override
   public void fireMainTank() {
-    gameModel.getMainTank().fire();
+    gameModel.fireMainTank();
     ResourceManager.getSingleton().asyncPlayFireAudio();
   }
 
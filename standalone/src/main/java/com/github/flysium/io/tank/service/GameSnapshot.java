@@ -0,0 +1,447 @@
+/*
+ * Copyright (c) 2020 SvenAugustus
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.flysium.io.tank.service;
+
+import com.github.flysium.io.tank.model.Bullet;
+import com.github.flysium.io.tank.model.Direction;
+import com.github.flysium.io.tank.model.Explode;
+import com.github.flysium.io.tank.model.GameObject;
+import com.github.flysium.io.tank.model.Tank;
+import com.github.flysium.io.tank.model.Wall;
+import java.awt.Rectangle;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Snapshot of a world which keeps only the primitive state of each <code>GameObject</code>, and
+ * it's versioned binary format for saving games.
+ *
+ * <p>The shapes, bounds and strategies are not saved, they are given by the world which restores
+ * the snapshot. Objects refer to each other by the index of the record, and a record only refers to
+ * an earlier one, so the records can be restored in order. The tanks which are not in the world any
+ * more, but are the owners of bullets or explosions, are kept as detached records.
+ *
+ * <pre>
+ * big-endian
+ * int   magic "TWGS"
+ * short version
+ * short count of group codes, group codes (short length, UTF-8 bytes)
+ * int   count of records
+ * int   record of the main tank, or -1
+ * records:
+ *   byte kind, byte flags, byte group, int health, int x, int y
+ *   wall:    int width, int height
+ *   tank:    byte direction, int speed
+ *   bullet:  byte direction, int speed, int damage, int owner
+ *   explode: int step, int owner
+ * </pre>
+ *
+ * @author Sven Augustus
+ * @version 1.0
+ */
+public final class GameSnapshot {
+
+  public static final int MAGIC = 0x54574753;
+  public static final short VERSION = 1;
+
+  static final byte KIND_WALL = 1;
+  static final byte KIND_TANK = 2;
+  static final byte KIND_BULLET = 3;
+  static final byte KIND_EXPLODE = 4;
+
+  static final byte FLAG_ALIVE = 1;
+  // the record is not in the world, it's only referred by the others
+  static final byte FLAG_DETACHED = 2;
+
+  private static final Direction[] DIRECTIONS = Direction.values();
+
+  private final List<String> groups = new ArrayList<>();
+  private int mainTank = -1;
+  private int size;
+  private byte[] kinds = new byte[16];
+  private byte[] flags = new byte[16];
+  private byte[] groupIndexes = new byte[16];
+  private int[] health = new int[16];
+  private int[] x = new int[16];
+  private int[] y = new int[16];
+  // width of a wall, or ordinal of the direction
+  private int[] widthOrDirection = new int[16];
+  // height of a wall, speed of a tank or a bullet, or step of an explosion
+  private int[] heightOrSpeed = new int[16];
+  private int[] damage = new int[16];
+  private int[] owner = new int[16];
+
+  private GameSnapshot() {
+  }
+
+  /**
+   * capture the state of a world, it should be called by the simulation thread.
+   *
+   * @param mainTank    the main <code>Tank</code>
+   * @param gameObjects <code>GameObject</code>s in the world
+   * @return <code>GameSnapshot</code>
+   */
+  static GameSnapshot capture(Tank mainTank, Iterable<GameObject> gameObjects) {
+    GameSnapshot snapshot = new GameSnapshot();
+    Map<Tank, Integer> tanks = new IdentityHashMap<>();
+    List<GameObject> dependents = new ArrayList<>();
+    for (GameObject gameObject : gameObjects) {
+      if (gameObject instanceof Wall) {
+        snapshot.addWall((Wall) gameObject);
+      } else if (gameObject instanceof Tank) {
+        tanks.put((Tank) gameObject, snapshot.addTank((Tank) gameObject, (byte) 0));
+      } else if (gameObject instanceof Bullet || gameObject instanceof Explode) {
+        dependents.add(gameObject);
+      }
+    }
+    if (mainTank != null) {
+      snapshot.mainTank = snapshot.tankRecord(tanks, mainTank);
+    }
+    for (GameObject gameObject : dependents) {
+      if (gameObject instanceof Bullet) {
+        Bullet bullet = (Bullet) gameObject;
+        final int ownerRecord = snapshot.tankRecord(tanks, bullet.getOwner());
+        final int record = snapshot.add(KIND_BULLET, bullet, (byte) 0);
+        snapshot.widthOrDirection[record] = bullet.getDirection().ordinal();
+        snapshot.heightOrSpeed[record] = bullet.getSpeed();
+        snapshot.damage[record] = bullet.getDamageValue();
+        snapshot.owner[record] = ownerRecord;
+      } else {
+        Explode explode = (Explode) gameObject;
+        final int ownerRecord = snapshot.tankRecord(tanks, explode.getOwner());
+        final int record = snapshot.add(KIND_EXPLODE, explode, (byte) 0);
+        snapshot.heightOrSpeed[record] = explode.getStep();
+        snapshot.owner[record] = ownerRecord;
+      }
+    }
+    return snapshot;
+  }
+
+  private int tankRecord(Map<Tank, Integer> tanks, Tank tank) {
+    Integer record = tanks.get(tank);
+    if (record == null) {
+      record = addTank(tank, FLAG_DETACHED);
+      tanks.put(tank, record);
+    }
+    return record;
+  }
+
+  private void addWall(Wall wall) {
+    final int record = add(KIND_WALL, wall, (byte) 0);
+    final Rectangle location = wall.getLocation();
+    widthOrDirection[record] = location.width;
+    heightOrSpeed[record] = location.height;
+  }
+
+  private int addTank(Tank tank, byte flag) {
+    final int record = add(KIND_TANK, tank, flag);
+    widthOrDirection[record] = tank.getDirection().ordinal();
+    heightOrSpeed[record] = tank.getSpeed();
+    return record;
+  }
+
+  private int add(byte kind, GameObject gameObject, byte flag) {
+    final Rectangle location = gameObject.getLocation();
+    final int record = newRecord();
+    kinds[record] = kind;
+    flags[record] = (byte) (flag | (gameObject.isAlive() ? FLAG_ALIVE : 0));
+    groupIndexes[record] = groupIndex(gameObject.getGroup().getGroupCode());
+    health[record] = gameObject.getHealthValue();
+    x[record] = location.x;
+    y[record] = location.y;
+    return record;
+  }
+
+  private byte groupIndex(String groupCode) {
+    int index = groups.indexOf(groupCode);
+    if (index < 0) {
+      index = groups.size();
+      groups.add(groupCode);
+    }
+    return (byte) index;
+  }
+
+  private int newRecord() {
+    if (size == kinds.length) {
+      ensureCapacity(size * 2);
+    }
+    return size++;
+  }
+
+  private void ensureCapacity(int capacity) {
+    if (capacity > kinds.length) {
+      kinds = Arrays.copyOf(kinds, capacity);
+      flags = Arrays.copyOf(flags, capacity);
+      groupIndexes = Arrays.copyOf(groupIndexes, capacity);
+      health = Arrays.copyOf(health, capacity);
+      x = Arrays.copyOf(x, capacity);
+      y = Arrays.copyOf(y, capacity);
+      widthOrDirection = Arrays.copyOf(widthOrDirection, capacity);
+      heightOrSpeed = Arrays.copyOf(heightOrSpeed, capacity);
+      damage = Arrays.copyOf(damage, capacity);
+      owner = Arrays.copyOf(owner, capacity);
+    }
+  }
+
+  /**
+   * Get the count of records.
+   *
+   * @return count of records
+   */
+  public int size() {
+    return size;
+  }
+
+  int getMainTank() {
+    return mainTank;
+  }
+
+  byte getKind(int record) {
+    return kinds[record];
+  }
+
+  boolean isAlive(int record) {
+    return (flags[record] & FLAG_ALIVE) != 0;
+  }
+
+  boolean isDetached(int record) {
+    return (flags[record] & FLAG_DETACHED) != 0;
+  }
+
+  String getGroupCode(int record) {
+    return groups.get(groupIndexes[record]);
+  }
+
+  int getHealth(int record) {
+    return health[record];
+  }
+
+  int getX(int record) {
+    return x[record];
+  }
+
+  int getY(int record) {
+    return y[record];
+  }
+
+  int getWidth(int record) {
+    return widthOrDirection[record];
+  }
+
+  int getHeight(int record) {
+    return heightOrSpeed[record];
+  }
+
+  Direction getDirection(int record) {
+    return DIRECTIONS[widthOrDirection[record]];
+  }
+
+  int getSpeed(int record) {
+    return heightOrSpeed[record];
+  }
+
+  int getStep(int record) {
+    return heightOrSpeed[record];
+  }
+
+  int getDamage(int record) {
+    return damage[record];
+  }
+
+  int getOwner(int record) {
+    return owner[record];
+  }
+
+  /**
+   * encode the snapshot in the binary format.
+   *
+   * @return <code>ByteBuffer</code> which is ready to read
+   */
+  public ByteBuffer encode() {
+    final byte[][] groupBytes = new byte[groups.size()][];
+    int length = 4 + 2 + 2 + 4 + 4;
+    for (int i = 0; i < groupBytes.length; i++) {
+      groupBytes[i] = groups.get(i).getBytes(StandardCharsets.UTF_8);
+      length += 2 + groupBytes[i].length;
+    }
+    for (int record = 0; record < size; record++) {
+      length += 15 + extraLength(kinds[record]);
+    }
+    ByteBuffer buffer = ByteBuffer.allocate(length);
+    buffer.putInt(MAGIC);
+    buffer.putShort(VERSION);
+    buffer.putShort((short) groupBytes.length);
+    for (byte[] group : groupBytes) {
+      buffer.putShort((short) group.length);
+      buffer.put(group);
+    }
+    buffer.putInt(size);
+    buffer.putInt(mainTank);
+    for (int record = 0; record < size; record++) {
+      buffer.put(kinds[record]);
+      buffer.put(flags[record]);
+      buffer.put(groupIndexes[record]);
+      buffer.putInt(health[record]);
+      buffer.putInt(x[record]);
+      buffer.putInt(y[record]);
+      switch (kinds[record]) {
+        case KIND_WALL:
+          buffer.putInt(widthOrDirection[record]);
+          buffer.putInt(heightOrSpeed[record]);
+          break;
+        case KIND_TANK:
+          buffer.put((byte) widthOrDirection[record]);
+          buffer.putInt(heightOrSpeed[record]);
+          break;
+        case KIND_BULLET:
+          buffer.put((byte) widthOrDirection[record]);
+          buffer.putInt(heightOrSpeed[record]);
+          buffer.putInt(damage[record]);
+          buffer.putInt(owner[record]);
+          break;
+        default:
+          buffer.putInt(heightOrSpeed[record]);
+          buffer.putInt(owner[record]);
+          break;
+      }
+    }
+    buffer.flip();
+    return buffer;
+  }
+
+  private static int extraLength(byte kind) {
+    switch (kind) {
+      case KIND_WALL:
+        return 8;
+      case KIND_TANK:
+        return 5;
+      case KIND_BULLET:
+        return 13;
+      default:
+        return 8;
+    }
+  }
+
+  /**
+   * decode a snapshot in the binary format.
+   *
+   * @param buffer <code>ByteBuffer</code>
+   * @return <code>GameSnapshot</code>
+   * @throws IOException if it's not a snapshot of a supported version, or it's corrupted
+   */
+  public static GameSnapshot decode(ByteBuffer buffer) throws IOException {
+    try {
+      return doDecode(buffer.order(ByteOrder.BIG_ENDIAN));
+    } catch (BufferUnderflowException e) {
+      throw new IOException("truncated saved game", e);
+    }
+  }
+
+  private static GameSnapshot doDecode(ByteBuffer buffer) throws IOException {
+    if (buffer.getInt() != MAGIC) {
+      throw new IOException("not a saved game");
+    }
+    final short version = buffer.getShort();
+    if (version != VERSION) {
+      throw new IOException("unsupported version of saved game: " + version);
+    }
+    GameSnapshot snapshot = new GameSnapshot();
+    final int groupCount = buffer.getShort() & 0xFFFF;
+    for (int i = 0; i < groupCount; i++) {
+      byte[] group = new byte[buffer.getShort() & 0xFFFF];
+      buffer.get(group);
+      snapshot.groups.add(new String(group, StandardCharsets.UTF_8));
+    }
+    final int size = buffer.getInt();
+    snapshot.mainTank = buffer.getInt();
+    // a record takes at least 20 bytes
+    if (size < 0 || size > buffer.remaining() / 20 || snapshot.mainTank < -1
+        || snapshot.mainTank >= size) {
+      throw new IOException("corrupted saved game");
+    }
+    snapshot.ensureCapacity(size);
+    for (int i = 0; i < size; i++) {
+      final int record = snapshot.newRecord();
+      final byte kind = buffer.get();
+      snapshot.kinds[record] = kind;
+      snapshot.flags[record] = buffer.get();
+      snapshot.groupIndexes[record] = buffer.get();
+      snapshot.health[record] = buffer.getInt();
+      snapshot.x[record] = buffer.getInt();
+      snapshot.y[record] = buffer.getInt();
+      switch (kind) {
+        case KIND_WALL:
+          snapshot.widthOrDirection[record] = buffer.getInt();
+          snapshot.heightOrSpeed[record] = buffer.getInt();
+          break;
+        case KIND_TANK:
+          snapshot.widthOrDirection[record] = buffer.get();
+          snapshot.heightOrSpeed[record] = buffer.getInt();
+          break;
+        case KIND_BULLET:
+          snapshot.widthOrDirection[record] = buffer.get();
+          snapshot.heightOrSpeed[record] = buffer.getInt();
+          snapshot.damage[record] = buffer.getInt();
+          snapshot.owner[record] = buffer.getInt();
+          break;
+        case KIND_EXPLODE:
+          snapshot.heightOrSpeed[record] = buffer.getInt();
+          snapshot.owner[record] = buffer.getInt();
+          break;
+        default:
+          throw new IOException("unknown kind of record: " + kind);
+      }
+      if (!snapshot.isValid(record, groupCount)) {
+        throw new IOException("corrupted record: " + record);
+      }
+    }
+    if (snapshot.mainTank >= 0 && snapshot.kinds[snapshot.mainTank] != KIND_TANK) {
+      throw new IOException("corrupted saved game");
+    }
+    return snapshot;
+  }
+
+  private boolean isValid(int record, int groupCount) {
+    final byte kind = kinds[record];
+    if (groupIndexes[record] < 0 || groupIndexes[record] >= groupCount) {
+      return false;
+    }
+    if ((kind == KIND_TANK || kind == KIND_BULLET)
+        && (widthOrDirection[record] < 0 || widthOrDirection[record] >= DIRECTIONS.length)) {
+      return false;
+    }
+    // the owner is an earlier tank
+    return (kind != KIND_BULLET && kind != KIND_EXPLODE)
+        || (owner[record] >= 0 && owner[record] < record && kinds[owner[record]] == KIND_TANK);
+  }
+
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2020 SvenAugustus
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.flysium.io.tank.service;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Source of the random draws of a world, e.g. by the automatic strategies. All draws of a world
+ * go through it's source, so that they can be recorded and replayed.
+ *
+ * @author Sven Augustus
+ * @version 1.0
+ */
+@FunctionalInterface
+public interface RandomSource {
+
+  /**
+   * draw a random int value.
+   *
+   * @param bound the upper bound (exclusive), must be positive
+   * @return a random value in [0, bound)
+   */
+  int nextInt(int bound);
+
+  /**
+   * a source which is reproducible by the seed, it should be used by one thread only, e.g. the
+   * simulation thread of a world.
+   *
+   * @param seed seed
+   * @return <code>RandomSource</code>
+   */
+  static RandomSource seeded(long seed) {
+    final SplittableRandom random = new SplittableRandom(seed);
+    return random::nextInt;
+  }
+
+  /**
+   * a source which is not reproducible, it draws from the random of the current thread.
+   *
+   * @return <code>RandomSource</code>
+   */
+  static RandomSource unseeded() {
+    return bound -> ThreadLocalRandom.current().nextInt(bound);
+  }
+
+}
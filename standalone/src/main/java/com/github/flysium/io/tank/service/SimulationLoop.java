@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2020 SvenAugustus
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.flysium.io.tank.service;
+
+import com.github.flysium.io.tank.config.utils.LogUtils;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Fixed-timestep simulation loop, it ticks the <code>GameModel</code> at a constant rate which is
+ * independent of how often the view is painted.
+ *
+ * <p>When the loop falls behind (e.g. a GC pause), it catches up by ticking several times in a
+ * row, but at most {@link #MAX_CATCH_UP_TICKS}, the rest of the backlog is dropped so that the
+ * simulation never spirals.
+ *
+ * @author Sven Augustus
+ * @version 1.0
+ */
+public class SimulationLoop implements Runnable {
+
+  // max ticks to catch up in a row
+  private static final int MAX_CATCH_UP_TICKS = 5;
+
+  private final GameModel gameModel;
+
+  private final long tickNanos;
+
+  public SimulationLoop(GameModel gameModel, int tickMillis) {
+    this.gameModel = gameModel;
+    this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+  }
+
+  @Override
+  public void run() {
+    long nextTick = System.nanoTime();
+    while (!Thread.currentThread().isInterrupted()) {
+      final long now = System.nanoTime();
+      int ticks = 0;
+      while (now - nextTick >= 0 && ticks < MAX_CATCH_UP_TICKS) {
+        tick();
+        nextTick += tickNanos;
+        ticks++;
+      }
+      if (now - nextTick >= 0) {
+        // too far behind, drop the backlog
+        nextTick = now + tickNanos;
+      }
+      LockSupport.parkNanos(nextTick - System.nanoTime());
+    }
+  }
+
+  private void tick() {
+    try {
+      gameModel.tick();
+    } catch (RuntimeException e) {
+      LogUtils.error(e, "tick failed");
+    }
+  }
+
+}
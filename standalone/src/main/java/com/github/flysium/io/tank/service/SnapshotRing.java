@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2020 SvenAugustus
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.flysium.io.tank.service;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.zip.CRC32;
+
+/**
+ * Fixed-size ring of snapshots in a memory-mapped file, the oldest slot is overwritten by the next
+ * snapshot.
+ *
+ * <p>Each slot carries a generation number and a CRC32 of the generation, the length and the
+ * payload. A slot is written payload first and header last, then forced to the disk, so a crash in
+ * the middle of writing leaves only that slot invalid, the older slots are still valid. Reading
+ * picks the valid slot of the newest generation.
+ *
+ * <pre>
+ * file: int magic "TWAR", short version, int slots, int slot size, padded to 64 bytes
+ * slot: long generation, int length, int crc, payload
+ * </pre>
+ *
+ * <p>It is thread-safe.
+ *
+ * @author Sven Augustus
+ * @version 1.0
+ */
+public final class SnapshotRing {
+
+  public static final int MAGIC = 0x54574152;
+  public static final short VERSION = 1;
+
+  private static final int FILE_HEADER = 64;
+  private static final int SLOT_HEADER = 16;
+
+  private final int slots;
+  private final int slotSize;
+  private final MappedByteBuffer buffer;
+  private final CRC32 crc = new CRC32();
+
+  // generation of the newest snapshot, or zero if there is none
+  private long generation;
+
+  /**
+   * open a ring file, it's created or formatted again if it has another layout.
+   *
+   * @param file     ring file
+   * @param slots    count of slots
+   * @param slotSize bytes of a slot, including it's header
+   * @throws IOException if an I/O error occurs
+   */
+  public SnapshotRing(File file, int slots, int slotSize) throws IOException {
+    if (slots <= 0 || slotSize <= SLOT_HEADER) {
+      throw new IllegalArgumentException("invalid ring: " + slots + " slots of " + slotSize);
+    }
+    this.slots = slots;
+    this.slotSize = slotSize;
+    final long length = FILE_HEADER + (long) slots * slotSize;
+    if (length > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("ring is too large: " + length);
+    }
+    try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+      final boolean formatted = randomAccessFile.length() == length;
+      FileChannel channel = randomAccessFile.getChannel();
+      // the mapping is still valid after the channel is closed
+      this.buffer = channel.map(MapMode.READ_WRITE, 0, length);
+      if (!formatted || buffer.getInt(0) != MAGIC || buffer.getShort(4) != VERSION
+          || buffer.getInt(6) != slots || buffer.getInt(10) != slotSize) {
+        format();
+      }
+    }
+    for (int slot = 0; slot < slots; slot++) {
+      if (isValid(slot)) {
+        generation = Math.max(generation, buffer.getLong(offset(slot)));
+      }
+    }
+  }
+
+  private void format() {
+    for (int i = 0; i < buffer.capacity(); i++) {
+      buffer.put(i, (byte) 0);
+    }
+    buffer.putInt(0, MAGIC);
+    buffer.putShort(4, VERSION);
+    buffer.putInt(6, slots);
+    buffer.putInt(10, slotSize);
+    buffer.force();
+  }
+
+  /**
+   * Get the max length of a snapshot.
+   *
+   * @return bytes
+   */
+  public int getCapacity() {
+    return slotSize - SLOT_HEADER;
+  }
+
+  /**
+   * Get the generation of the newest snapshot.
+   *
+   * @return generation, or zero if there is none
+   */
+  public synchronized long getGeneration() {
+    return generation;
+  }
+
+  /**
+   * write a snapshot to the oldest slot.
+   *
+   * @param payload snapshot, from it's position to it's limit
+   * @return generation of the snapshot
+   * @throws IOException if the snapshot is larger than the capacity
+   */
+  public synchronized long write(ByteBuffer payload) throws IOException {
+    final int length = payload.remaining();
+    if (length > getCapacity()) {
+      throw new IOException("snapshot of " + length + " bytes exceeds the slot capacity "
+          + getCapacity());
+    }
+    final long next = generation + 1;
+    final int offset = offset((int) (next % slots));
+
+    // invalidate the slot, then write the payload, and the header at last
+    buffer.putInt(offset + 12, 0);
+    buffer.putLong(offset, 0);
+    ByteBuffer slot = buffer.duplicate();
+    slot.position(offset + SLOT_HEADER);
+    slot.put(payload.duplicate());
+    buffer.putInt(offset + 8, length);
+    buffer.putLong(offset, next);
+    buffer.putInt(offset + 12, checksum(offset, length));
+    buffer.force();
+
+    generation = next;
+    return next;
+  }
+
+  /**
+   * read the newest valid snapshot.
+   *
+   * @return a copy of the snapshot, or null if there is none
+   */
+  public synchronized ByteBuffer readLatest() {
+    int latest = -1;
+    long latestGeneration = 0;
+    for (int slot = 0; slot < slots; slot++) {
+      if (isValid(slot) && buffer.getLong(offset(slot)) > latestGeneration) {
+        latest = slot;
+        latestGeneration = buffer.getLong(offset(slot));
+      }
+    }
+    if (latest < 0) {
+      return null;
+    }
+    final int offset = offset(latest);
+    ByteBuffer slot = buffer.duplicate();
+    slot.position(offset + SLOT_HEADER);
+    slot.limit(offset + SLOT_HEADER + buffer.getInt(offset + 8));
+    ByteBuffer copy = ByteBuffer.allocate(slot.remaining());
+    copy.put(slot);
+    copy.flip();
+    return copy;
+  }
+
+  private boolean isValid(int slot) {
+    final int offset = offset(slot);
+    final int length = buffer.getInt(offset + 8);
+    return buffer.getLong(offset) > 0 && length >= 0 && length <= getCapacity()
+        && buffer.getInt(offset + 12) == checksum(offset, length);
+  }
+
+  private int checksum(int offset, int length) {
+    ByteBuffer slot = buffer.duplicate();
+    slot.position(offset);
+    slot.limit(offset + 12);
+    crc.reset();
+    crc.update(slot);
+    slot.limit(offset + SLOT_HEADER + length);
+    slot.position(offset + SLOT_HEADER);
+    crc.update(slot);
+    return (int) crc.getValue();
+  }
+
+  private int offset(int slot) {
+    return FILE_HEADER + slot * slotSize;
+  }
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2020 SvenAugustus
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.flysium.io.tank.service.automatic;
+
+import com.github.flysium.io.tank.model.Direction;
+import com.github.flysium.io.tank.model.Tank;
+
+/**
+ * Decision of an automatic tank, it's decided against an <code>AutomaticWorld</code> and applied
+ * to the tank by the simulation thread later.
+ *
+ * @author Sven Augustus
+ * @version 1.0
+ */
+public enum AutomaticDecision {
+
+  IDLE(null, false),
+
+  FIRE(null, false),
+
+  MOVE_ON(null, true),
+
+  TURN_UP(Direction.UP, false),
+
+  TURN_DOWN(Direction.DOWN, false),
+
+  TURN_LEFT(Direction.LEFT, false),
+
+  TURN_RIGHT(Direction.RIGHT, false),
+
+  MOVE_UP(Direction.UP, true),
+
+  MOVE_DOWN(Direction.DOWN, true),
+
+  MOVE_LEFT(Direction.LEFT, true),
+
+  MOVE_RIGHT(Direction.RIGHT, true),
+  ;
+
+  // decisions to turn, and to move, by the ordinal of direction
+  private static final AutomaticDecision[] TURNS = {TURN_UP, TURN_DOWN, TURN_LEFT, TURN_RIGHT};
+  private static final AutomaticDecision[] MOVES = {MOVE_UP, MOVE_DOWN, MOVE_LEFT, MOVE_RIGHT};
+
+  // the direction to turn to, and whether to move on after turning
+  private final Direction direction;
+  private final boolean moveOn;
+
+  AutomaticDecision(Direction direction, boolean moveOn) {
+    this.direction = direction;
+    this.moveOn = moveOn;
+  }
+
+  /**
+   * Get the decision to turn to the specified direction.
+   *
+   * @param direction <code>Direction</code>
+   * @return decision
+   */
+  public static AutomaticDecision turn(Direction direction) {
+    return TURNS[direction.ordinal()];
+  }
+
+  /**
+   * Get the decision to turn to the specified direction and move on.
+   *
+   * @param direction <code>Direction</code>
+   * @return decision
+   */
+  public static AutomaticDecision move(Direction direction) {
+    return MOVES[direction.ordinal()];
+  }
+
+  /**
+   * apply the decision to the tank, it should be called by the simulation thread.
+   *
+   * @param tank Tank
+   */
+  public void apply(Tank tank) {
+    if (this == FIRE) {
+      tank.fire();
+      return;
+    }
+    if (direction != null) {
+      tank.changeDirection(direction);
+    }
+    if (moveOn) {
+      tank.moveOn();
+    }
+  }
+
+}
@@ -0,0 +1,340 @@
+/*
+ * Copyright (c) 2020 SvenAugustus
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.flysium.io.tank.service.automatic;
+
+import com.github.flysium.io.tank.config.AutomaticConfig;
+import com.github.flysium.io.tank.config.utils.LogUtils;
+import com.github.flysium.io.tank.model.Direction;
+import com.github.flysium.io.tank.model.FinalRectangle;
+import com.github.flysium.io.tank.model.GameObject;
+import com.github.flysium.io.tank.model.Group;
+import com.github.flysium.io.tank.model.Tank;
+import com.github.flysium.io.tank.model.Wall;
+import com.github.flysium.io.tank.service.GameObjectStore;
+import com.github.flysium.io.tank.service.RandomSource;
+import java.awt.Rectangle;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Executor of the automatic of a world. Each round the world is captured into an
+ * <code>AutomaticWorld</code>, the enemy tanks are decided in parallel against it by a pool which
+ * is shared by all worlds, and the decisions are applied in one batch by the simulation thread.
+ *
+ * <p>A round may have a time budget, the tanks which are not decided within it keep their previous
+ * decisions. Every tank draws from it's own random, seeded by the source of the world in the order
+ * of the tanks, so that the decisions are reproducible whatever thread makes them, unless the
+ * budget is missed.
+ *
+ * <p>It is not thread-safe, it should be called by the simulation thread.
+ *
+ * @author Sven Augustus
+ * @version 1.0
+ */
+public class AutomaticExecutor {
+
+  private final AutomaticConfig automaticConfig = AutomaticConfig.getSingleton();
+
+  private final AutomaticStrategy strategy;
+  private final long budgetNanos;
+
+  // previous decisions by the slot of the tank
+  private AutomaticDecision[] previousDecisions = new AutomaticDecision[64];
+  private long[] previousIds = new long[64];
+
+  // walls of the last round, shared while the walls are not changed
+  private int wallsVersion = -1;
+  private int wallCount;
+  private int[] wallX = new int[0];
+  private int[] wallY = new int[0];
+  private int[] wallWidth = new int[0];
+  private int[] wallHeight = new int[0];
+
+  // count of decisions which missed the budget
+  private long missedDecisions;
+
+  public AutomaticExecutor(AutomaticStrategy strategy) {
+    this.strategy = strategy;
+    this.budgetNanos = TimeUnit.MILLISECONDS.toNanos(automaticConfig.getBudgetMillis());
+  }
+
+  /**
+   * Get the count of decisions which missed the budget, those tanks kept their previous
+   * decisions.
+   *
+   * @return count
+   */
+  public long getMissedDecisions() {
+    return missedDecisions;
+  }
+
+  /**
+   * decide and apply a round of the automatic.
+   *
+   * @param store        objects of the world
+   * @param bounds       bounds of the world
+   * @param tick         current tick of the world
+   * @param wallsVersion version of the walls
+   * @param random       source of random draws of the world
+   */
+  public void automatic(GameObjectStore store, FinalRectangle bounds, long tick,
+      int wallsVersion, RandomSource random) {
+    // capture the world
+    final int limit = store.limit();
+    final Tank[] tanks = new Tank[limit];
+    int tankCount = 0;
+    int wallCount = 0;
+    final boolean wallsChanged = wallsVersion != this.wallsVersion;
+    for (int slot = 0; slot < limit; slot++) {
+      GameObject gameObject = store.getAt(slot);
+      if (gameObject instanceof Tank && gameObject.isAlive()) {
+        tanks[tankCount++] = (Tank) gameObject;
+      } else if (wallsChanged && gameObject instanceof Wall) {
+        captureWall(wallCount++, gameObject.getLocation());
+      }
+    }
+    if (wallsChanged) {
+      this.wallsVersion = wallsVersion;
+      this.wallCount = wallCount;
+    }
+    final AutomaticWorld world = capture(bounds, tick, tanks, tankCount);
+
+    // enemies and their seeds, drawn by the simulation thread
+    final int[] enemies = new int[tankCount];
+    final long[] seeds = new long[tankCount];
+    int enemyCount = 0;
+    for (int i = 0; i < tankCount; i++) {
+      if (Group.ENEMY_GROUP.equals(tanks[i].getGroup())) {
+        seeds[enemyCount] = random.nextInt(Integer.MAX_VALUE);
+        enemies[enemyCount++] = i;
+      }
+    }
+    if (enemyCount == 0) {
+      return;
+    }
+
+    // decide
+    final Round round = new Round(world, enemies, seeds, enemyCount, budgetNanos > 0
+        ? System.nanoTime() + budgetNanos : 0);
+    final ForkJoinPool pool = automaticConfig.getParallelism() > 1 && enemyCount > 1
+        ? Holder.POOL : null;
+    if (pool == null) {
+      round.decide(0, enemyCount);
+    } else {
+      ForkJoinTask<?> task = pool.submit(new Decide(round, 0, enemyCount,
+          Math.max(1, enemyCount / (pool.getParallelism() * 4))));
+      try {
+        if (budgetNanos > 0) {
+          task.get(Math.max(0, round.deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } else {
+          task.get();
+        }
+      } catch (TimeoutException e) {
+        // the stragglers are left behind, they stop at the deadline
+      } catch (ExecutionException e) {
+        LogUtils.error(e.getCause(), "failed to decide the automatic");
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    // apply in one batch
+    int missed = 0;
+    for (int i = 0; i < enemyCount; i++) {
+      final Tank tank = tanks[enemies[i]];
+      final int slot = GameObjectStore.slot(tank.getId());
+      ensureCapacity(slot + 1);
+      AutomaticDecision decision = round.decisions.get(i);
+      if (decision == null) {
+        missed++;
+        decision = previousIds[slot] == tank.getId() && previousDecisions[slot] != null
+            ? previousDecisions[slot] : AutomaticDecision.IDLE;
+      }
+      previousIds[slot] = tank.getId();
+      previousDecisions[slot] = decision;
+      decision.apply(tank);
+    }
+    if (missed > 0) {
+      missedDecisions += missed;
+      LogUtils.debug("%s of %s automatic decisions missed the budget at tick %s", missed,
+          enemyCount, tick);
+    }
+  }
+
+  private AutomaticWorld capture(FinalRectangle bounds, long tick, Tank[] tanks, int tankCount) {
+    final int[] tankX = new int[tankCount];
+    final int[] tankY = new int[tankCount];
+    final int[] tankWidth = new int[tankCount];
+    final int[] tankHeight = new int[tankCount];
+    final Direction[] tankDirection = new Direction[tankCount];
+    final Group[] tankGroup = new Group[tankCount];
+    int mainTank = -1;
+    for (int i = 0; i < tankCount; i++) {
+      final Rectangle location = tanks[i].getLocation();
+      tankX[i] = location.x;
+      tankY[i] = location.y;
+      tankWidth[i] = location.width;
+      tankHeight[i] = location.height;
+      tankDirection[i] = tanks[i].getDirection();
+      tankGroup[i] = tanks[i].getGroup();
+      if (mainTank < 0 && Group.MAIN_GROUP.equals(tankGroup[i])) {
+        mainTank = i;
+      }
+    }
+    return new AutomaticWorld(bounds, tick, tankCount, tankX, tankY, tankWidth, tankHeight,
+        tankDirection, tankGroup, mainTank, wallsVersion, wallCount, wallX, wallY, wallWidth,
+        wallHeight);
+  }
+
+  private void captureWall(int wall, Rectangle location) {
+    // the arrays of the last walls may be still read by a round, never write them
+    if (wall == 0 || wall == wallX.length) {
+      final int capacity = wall == 0 ? Math.max(16, wallX.length) : wall * 2;
+      wallX = Arrays.copyOf(wallX, capacity);
+      wallY = Arrays.copyOf(wallY, capacity);
+      wallWidth = Arrays.copyOf(wallWidth, capacity);
+      wallHeight = Arrays.copyOf(wallHeight, capacity);
+    }
+    wallX[wall] = location.x;
+    wallY[wall] = location.y;
+    wallWidth[wall] = location.width;
+    wallHeight[wall] = location.height;
+  }
+
+  private void ensureCapacity(int capacity) {
+    if (capacity <= previousIds.length) {
+      return;
+    }
+    final int newCapacity = Math.max(capacity, previousIds.length * 2);
+    previousIds = Arrays.copyOf(previousIds, newCapacity);
+    previousDecisions = Arrays.copyOf(previousDecisions, newCapacity);
+  }
+
+  /**
+   * a round of decisions.
+   */
+  private final class Round {
+
+    private final AutomaticWorld world;
+    private final int[] enemies;
+    private final long[] seeds;
+    // deadline of nanoTime, 0 is unlimited
+    private final long deadline;
+    private final AtomicReferenceArray<AutomaticDecision> decisions;
+
+    Round(AutomaticWorld world, int[] enemies, long[] seeds, int enemyCount, long deadline) {
+      this.world = world;
+      this.enemies = enemies;
+      this.seeds = seeds;
+      this.deadline = deadline;
+      this.decisions = new AtomicReferenceArray<>(enemyCount);
+    }
+
+    void decide(int from, int to) {
+      final TankRandom random = new TankRandom();
+      for (int i = from; i < to; i++) {
+        if (deadline != 0 && System.nanoTime() - deadline > 0) {
+          return;
+        }
+        random.seed = seeds[i];
+        try {
+          decisions.set(i, strategy.decide(world, enemies[i], random));
+        } catch (RuntimeException e) {
+          LogUtils.warn(e, "failed to decide the automatic of tank %s", enemies[i]);
+        }
+      }
+    }
+  }
+
+  /**
+   * decide a range of enemies, split to the pool.
+   */
+  private static final class Decide extends RecursiveAction {
+
+    private static final long serialVersionUID = 6123907746563046529L;
+
+    private final Round round;
+    private final int from;
+    private final int to;
+    private final int threshold;
+
+    Decide(Round round, int from, int to, int threshold) {
+      this.round = round;
+      this.from = from;
+      this.to = to;
+      this.threshold = threshold;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= threshold) {
+        round.decide(from, to);
+        return;
+      }
+      final int middle = (from + to) >>> 1;
+      invokeAll(new Decide(round, from, middle, threshold),
+          new Decide(round, middle, to, threshold));
+    }
+  }
+
+  /**
+   * random of a tank in a round, a SplitMix64 generator which can be reseeded without allocating.
+   */
+  private static final class TankRandom implements RandomSource {
+
+    private long seed;
+
+    @Override
+    public int nextInt(int bound) {
+      if (bound <= 0) {
+        throw new IllegalArgumentException("bound must be positive: " + bound);
+      }
+      long z = (seed += 0x9E3779B97F4A7C15L);
+      z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+      z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+      z = z ^ (z >>> 31);
+      return (int) (((z >>> 32) * bound) >>> 32);
+    }
+  }
+
+  private static class Holder {
+
+    // pool shared by all worlds, the workers are daemon threads.
+    static final ForkJoinPool POOL = new ForkJoinPool(
+        AutomaticConfig.getSingleton().getParallelism(), pool -> {
+          ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory
+              .newThread(pool);
+          thread.setName("automatic-" + thread.getPoolIndex());
+          return thread;
+        }, null, false);
+  }
+
+}
@@ -22,10 +22,11 @@
 
 package com.github.flysium.io.tank.service.automatic;
 
-import com.github.flysium.io.tank.model.Tank;
+import com.github.flysium.io.tank.service.RandomSource;
 
 /**
- * Automatic Strategy.
+ * Automatic Strategy. The decisions are made against a read-only <code>AutomaticWorld</code> by
+ * many threads at the same time, so it should be thread-safe.
  *
  * @author Sven Augustus
  * @version 1.0
@@ -33,9 +34,12 @@ import com.github.flysium.io.tank.model.Tank;
 public interface AutomaticStrategy {
 
   /**
-   * automatic to stop, go, fire, etc.
+   * decide to stop, go, fire, etc.
    *
-   * @param tank Tank
+   * @param world  read-only view of the world
+   * @param tank   index of the tank in the world
+   * @param random source of random draws of the tank
+   * @return decision
    */
-  void automatic(Tank tank);
+  AutomaticDecision decide(AutomaticWorld world, int tank, RandomSource random);
 }
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2020 SvenAugustus
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.flysium.io.tank.service.automatic;
+
+import com.github.flysium.io.tank.model.Direction;
+import com.github.flysium.io.tank.model.FinalRectangle;
+import com.github.flysium.io.tank.model.Group;
+
+/**
+ * Read-only view of a world for the automatic, the alive tanks and the walls are captured by the
+ * simulation thread into primitive columns, so that the decisions can be made by other threads
+ * while the world goes on.
+ *
+ * <p>The walls are shared by the captures of the same walls version, they are never changed.
+ *
+ * @author Sven Augustus
+ * @version 1.0
+ */
+public final class AutomaticWorld {
+
+  private final FinalRectangle bounds;
+  private final long tick;
+
+  // tanks
+  private final int tankCount;
+  private final int[] tankX;
+  private final int[] tankY;
+  private final int[] tankWidth;
+  private final int[] tankHeight;
+  private final Direction[] tankDirection;
+  private final Group[] tankGroup;
+  private final int mainTank;
+
+  // walls
+  private final int wallsVersion;
+  private final int wallCount;
+  private final int[] wallX;
+  private final int[] wallY;
+  private final int[] wallWidth;
+  private final int[] wallHeight;
+
+  AutomaticWorld(FinalRectangle bounds, long tick, int tankCount, int[] tankX, int[] tankY,
+      int[] tankWidth, int[] tankHeight, Direction[] tankDirection, Group[] tankGroup,
+      int mainTank, int wallsVersion, int wallCount, int[] wallX, int[] wallY, int[] wallWidth,
+      int[] wallHeight) {
+    this.bounds = bounds;
+    this.tick = tick;
+    this.tankCount = tankCount;
+    this.tankX = tankX;
+    this.tankY = tankY;
+    this.tankWidth = tankWidth;
+    this.tankHeight = tankHeight;
+    this.tankDirection = tankDirection;
+    this.tankGroup = tankGroup;
+    this.mainTank = mainTank;
+    this.wallsVersion = wallsVersion;
+    this.wallCount = wallCount;
+    this.wallX = wallX;
+    this.wallY = wallY;
+    this.wallWidth = wallWidth;
+    this.wallHeight = wallHeight;
+  }
+
+  public FinalRectangle getBounds() {
+    return bounds;
+  }
+
+  /**
+   * Get the tick of the world when it's captured.
+   *
+   * @return tick
+   */
+  public long getTick() {
+    return tick;
+  }
+
+  public int getTankCount() {
+    return tankCount;
+  }
+
+  public int getTankX(int tank) {
+    return tankX[tank];
+  }
+
+  public int getTankY(int tank) {
+    return tankY[tank];
+  }
+
+  public int getTankWidth(int tank) {
+    return tankWidth[tank];
+  }
+
+  public int getTankHeight(int tank) {
+    return tankHeight[tank];
+  }
+
+  public Direction getTankDirection(int tank) {
+    return tankDirection[tank];
+  }
+
+  public Group getTankGroup(int tank) {
+    return tankGroup[tank];
+  }
+
+  /**
+   * Get the index of the main tank.
+   *
+   * @return index, or -1 if the main tank is dead
+   */
+  public int getMainTank() {
+    return mainTank;
+  }
+
+  /**
+   * Get the version of the walls, it changes whenever a wall is added or removed.
+   *
+   * @return version
+   */
+  public int getWallsVersion() {
+    return wallsVersion;
+  }
+
+  public int getWallCount() {
+    return wallCount;
+  }
+
+  public int getWallX(int wall) {
+    return wallX[wall];
+  }
+
+  public int getWallY(int wall) {
+    return wallY[wall];
+  }
+
+  public int getWallWidth(int wall) {
+    return wallWidth[wall];
+  }
+
+  public int getWallHeight(int wall) {
+    return wallHeight[wall];
+  }
+
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2020 SvenAugustus
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.flysium.io.tank.service.automatic;
+
+import com.github.flysium.io.tank.config.AutomaticConfig;
+import com.github.flysium.io.tank.model.Direction;
+import com.github.flysium.io.tank.service.RandomSource;
+import com.github.flysium.io.tank.service.navigation.NavigationGrid;
+import com.github.flysium.io.tank.service.navigation.NavigationService;
+import com.github.flysium.io.tank.service.navigation.PathCache;
+
+/**
+ * Chase Automatic Strategy, the tank chases the main tank by the shortest path around the walls,
+ * and fires when the main tank is in sight. It wanders like <code>RandomAutomaticStrategy</code>
+ * if there is no way to the main tank.
+ *
+ * @author Sven Augustus
+ * @version 1.0
+ */
+public class ChaseAutomaticStrategy implements AutomaticStrategy {
+
+  private final AutomaticConfig automaticConfig = AutomaticConfig.getSingleton();
+
+  private final NavigationService navigationService = new NavigationService(
+      automaticConfig.getNavigationCellSize(), automaticConfig.getNavigationCacheCapacity());
+
+  private final AutomaticStrategy wander = new RandomAutomaticStrategy();
+
+  @Override
+  public AutomaticDecision decide(AutomaticWorld world, int tank, RandomSource random) {
+    final int mainTank = world.getMainTank();
+    if (mainTank < 0) {
+      return wander.decide(world, tank, random);
+    }
+    // turn to the main tank in sight, and fire
+    final Direction sight = sight(world, tank, mainTank);
+    if (sight != null) {
+      if (sight != world.getTankDirection(tank)) {
+        return AutomaticDecision.turn(sight);
+      }
+      if (random.nextInt(100) < automaticConfig.getEnemyTankChaseFireRatio()) {
+        return AutomaticDecision.FIRE;
+      }
+    }
+
+    // move to the next cell of the path
+    final NavigationGrid grid = navigationService.getGrid(world,
+        Math.max(world.getTankWidth(tank), world.getTankHeight(tank)));
+    final int start = grid.cellAt(world.getTankX(tank), world.getTankY(tank));
+    final int goal = grid.cellAt(world.getTankX(mainTank), world.getTankY(mainTank));
+    if (start < 0 || goal < 0) {
+      return wander.decide(world, tank, random);
+    }
+    final int next = PathCache.next(navigationService.findPath(grid, start, goal));
+    if (next < 0) {
+      return wander.decide(world, tank, random);
+    }
+    final Direction direction = grid.direction(start, next);
+    return direction != null ? AutomaticDecision.move(direction) : AutomaticDecision.IDLE;
+  }
+
+  /**
+   * Get the direction of the target if the bullets of the tank can fly to it, the way is straight
+   * from the center of the tank and there is no wall.
+   */
+  private static Direction sight(AutomaticWorld world, int tank, int target) {
+    final int x = world.getTankX(tank);
+    final int y = world.getTankY(tank);
+    final int width = world.getTankWidth(tank);
+    final int height = world.getTankHeight(tank);
+    final int centerX = x + width / 2;
+    final int centerY = y + height / 2;
+    final int targetX = world.getTankX(target);
+    final int targetY = world.getTankY(target);
+    final int targetWidth = world.getTankWidth(target);
+    final int targetHeight = world.getTankHeight(target);
+
+    if (centerX >= targetX && centerX < targetX + targetWidth) {
+      if (targetY + targetHeight <= y) {
+        return clear(world, centerX, targetY + targetHeight, 1, y - targetY - targetHeight)
+            ? Direction.UP : null;
+      }
+      if (targetY >= y + height) {
+        return clear(world, centerX, y + height, 1, targetY - y - height)
+            ? Direction.DOWN : null;
+      }
+    }
+    if (centerY >= targetY && centerY < targetY + targetHeight) {
+      if (targetX + targetWidth <= x) {
+        return clear(world, targetX + targetWidth, centerY, x - targetX - targetWidth, 1)
+            ? Direction.LEFT : null;
+      }
+      if (targetX >= x + width) {
+        return clear(world, x + width, centerY, targetX - x - width, 1)
+            ? Direction.RIGHT : null;
+      }
+    }
+    return null;
+  }
+
+  private static boolean clear(AutomaticWorld world, int x, int y, int width, int height) {
+    for (int wall = 0; wall < world.getWallCount(); wall++) {
+      final int wallX = world.getWallX(wall);
+      final int wallY = world.getWallY(wall);
+      if (x < wallX + world.getWallWidth(wall) && x + width > wallX
+          && y < wallY + world.getWallHeight(wall) && y + height > wallY) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+}
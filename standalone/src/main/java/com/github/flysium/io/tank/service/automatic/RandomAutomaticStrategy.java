@@ -24,9 +24,7 @@ package com.github.flysium.io.tank.service.automatic;
 
 import com.github.flysium.io.tank.config.AutomaticConfig;
 import com.github.flysium.io.tank.model.Direction;
-import com.github.flysium.io.tank.model.Group;
-import com.github.flysium.io.tank.model.Tank;
-import java.util.Random;
+import com.github.flysium.io.tank.service.RandomSource;
 
 /**
  * Random Automatic Strategy.
@@ -36,29 +34,26 @@ import java.util.Random;
  */
 public class RandomAutomaticStrategy implements AutomaticStrategy {
 
+  private static final Direction[] DIRECTIONS = Direction.values();
+
   private final AutomaticConfig automaticConfig = AutomaticConfig.getSingleton();
 
   @Override
-  public void automatic(Tank tank) {
-    if (tank == null || !tank.isAlive() || !Group.ENEMY_GROUP.equals(tank.getGroup())) {
-      return;
-    }
-    Random random = new Random();
+  public AutomaticDecision decide(AutomaticWorld world, int tank, RandomSource random) {
     int ratio = random.nextInt(100);
     ratio -= automaticConfig.getEnemyTankRandomFireRatio();
     if (ratio < 0) {
-      tank.fire();
-      return;
+      return AutomaticDecision.FIRE;
     }
     ratio -= automaticConfig.getEnemyTankRandomChangeDirectionRatio();
     if (ratio < 0) {
-      tank.changeDirection(Direction.values()[random.nextInt(4)]);
-      return;
+      return AutomaticDecision.turn(DIRECTIONS[random.nextInt(DIRECTIONS.length)]);
     }
     ratio -= automaticConfig.getEnemyTankRandomMoveOnRatio();
     if (ratio < 0) {
-      tank.moveOn();
+      return AutomaticDecision.MOVE_ON;
     }
+    return AutomaticDecision.IDLE;
   }
 
 }
@@ -23,7 +23,6 @@
 package com.github.flysium.io.tank.service.collision;
 
 import com.github.flysium.io.tank.model.Bullet;
-import com.github.flysium.io.tank.model.GameObject;
 import com.github.flysium.io.tank.model.Tank;
 
 /**
@@ -32,31 +31,34 @@ import com.github.flysium.io.tank.model.Tank;
  * @author Sven Augustus
  * @version 1.0
  */
-public class BulletTankPhysicsCollisionDetector implements PhysicsCollisionDetector {
+public class BulletTankPhysicsCollisionDetector implements
+    PhysicsCollisionDetector<Bullet, Tank> {
+
+  /**
+   * Determines whether the bullet can hit the tank, regardless of where they are.
+   *
+   * @param bullet <code>Bullet</code>
+   * @param tank   <code>Tank</code>
+   * @return return true if the bullet can hit the tank, otherwise return false.
+   */
+  public static boolean canHit(Bullet bullet, Tank tank) {
+    return bullet.isAlive() && tank.isAlive()
+        // not my bullet
+        && !tank.equals(bullet.getOwner())
+        // not my allies's bullet
+        && !tank.getGroup().equals(bullet.getOwner().getGroup());
+  }
 
   @Override
-  public boolean detect(GameObject a, GameObject b) {
-    if (a == b) {
-      return false;
-    }
-    if (a instanceof Bullet && b instanceof Tank) {
-      Bullet bullet = (Bullet) a;
-      Tank tank = (Tank) b;
-      if (bullet.isAlive() && tank.isAlive()
-          // not my bullet
-          && !tank.equals(bullet.getOwner())
-          // not my allies's bullet
-          && !tank.getGroup().equals(bullet.getOwner().getGroup())
-          // physics collision occurs when they intersects is true
-          && tank.getLocation().intersects(bullet.getLocation())
-      ) {
-        // handle physics collision
-//        tank.die();
-        tank.damage(bullet.getDamageValue());
-        bullet.die();
-      }
-    } else if (a instanceof Tank && b instanceof Bullet) {
-      return detect(b, a);
+  public boolean detect(Bullet bullet, Tank tank) {
+    if (canHit(bullet, tank)
+        // physics collision occurs when the bullet sweeps through the tank
+        && bullet.sweepIntersects(tank.getLocation())
+    ) {
+      // handle physics collision
+//      tank.die();
+      tank.damage(bullet.getDamageValue());
+      bullet.die();
     }
     return false;
   }
@@ -23,7 +23,6 @@
 package com.github.flysium.io.tank.service.collision;
 
 import com.github.flysium.io.tank.model.Bullet;
-import com.github.flysium.io.tank.model.GameObject;
 import com.github.flysium.io.tank.model.Wall;
 
 /**
@@ -32,20 +31,16 @@ import com.github.flysium.io.tank.model.Wall;
  * @author Sven Augustus
  * @version 1.0
  */
-public class BulletWallPhysicsCollisionDetector implements PhysicsCollisionDetector {
+public class BulletWallPhysicsCollisionDetector implements
+    PhysicsCollisionDetector<Bullet, Wall> {
 
   @Override
-  public boolean detect(GameObject a, GameObject b) {
-    if (a instanceof Wall && b instanceof Bullet) {
-      Bullet bullet = (Bullet) b;
-      if (bullet.isAlive()
-          // physics collision occurs when they intersects is true
-          && a.getLocation().intersects(bullet.getLocation())) {
-        // handle physics collision
-        bullet.die();
-      }
-    } else if (a instanceof Bullet && b instanceof Wall) {
-      return detect(b, a);
+  public boolean detect(Bullet bullet, Wall wall) {
+    if (bullet.isAlive()
+        // physics collision occurs when the bullet sweeps through the wall
+        && bullet.sweepIntersects(wall.getLocation())) {
+      // handle physics collision
+      bullet.die();
     }
     return false;
   }
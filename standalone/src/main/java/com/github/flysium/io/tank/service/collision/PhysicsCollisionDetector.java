@@ -27,10 +27,12 @@ import com.github.flysium.io.tank.model.GameObject;
 /**
  * Physics Collision Detector
  *
+ * @param <A> type of <code>GameObject</code> a
+ * @param <B> type of <code>GameObject</code> b
  * @author Sven Augustus
  * @version 1.0
  */
-public interface PhysicsCollisionDetector {
+public interface PhysicsCollisionDetector<A extends GameObject, B extends GameObject> {
 
   /**
    * detect weather there is any physics collisions between <code>GameObject</code> a and
@@ -40,6 +42,6 @@ public interface PhysicsCollisionDetector {
    * @param b <code>GameObject</code> b
    * @return return true if there is any physics collisions, otherwise return false
    */
-  boolean detect(GameObject a, GameObject b);
+  boolean detect(A a, B b);
 
 }
@@ -22,37 +22,151 @@
 
 package com.github.flysium.io.tank.service.collision;
 
+import com.github.flysium.io.tank.model.Bullet;
 import com.github.flysium.io.tank.model.GameObject;
+import com.github.flysium.io.tank.model.Tank;
+import com.github.flysium.io.tank.model.Wall;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * <code>PhysicsCollisionDetector</code> Chain.
  *
+ * <p>Every <code>PhysicsCollisionDetector</code> is registered with the pair of
+ * <code>GameObject</code> types it handles. The detectors which apply to a pair of concrete classes
+ * are resolved once into a dispatch table, so a pair only ever invokes the detectors that apply to
+ * it, and a pair without any detector (such as <code>Wall</code> and <code>Wall</code>) is
+ * rejected by a single lookup.
+ *
  * @author Sven Augustus
  * @version 1.0
  */
-public class PhysicsCollisionDetectorChain implements PhysicsCollisionDetector {
+public class PhysicsCollisionDetectorChain implements
+    PhysicsCollisionDetector<GameObject, GameObject> {
+
+  private static final Dispatch[] NONE = new Dispatch[0];
 
-  private final List<PhysicsCollisionDetector> detectors = new CopyOnWriteArrayList<>();
+  private final List<Registration> registrations = new CopyOnWriteArrayList<>();
+
+  // class of a -> class of b -> detectors
+  private final Map<Class<?>, Map<Class<?>, Dispatch[]>> dispatchTable = new ConcurrentHashMap<>();
 
   public PhysicsCollisionDetectorChain() {
-    register(new BulletTankPhysicsCollisionDetector());
-    register(new BulletWallPhysicsCollisionDetector());
-    register(new TankWallPhysicsCollisionDetector());
-    register(new TankTankPhysicsCollisionDetector());
+    register(Bullet.class, Tank.class, new BulletTankPhysicsCollisionDetector());
+    register(Bullet.class, Wall.class, new BulletWallPhysicsCollisionDetector());
+    register(Tank.class, Wall.class, new TankWallPhysicsCollisionDetector());
+    register(Tank.class, Tank.class, new TankTankPhysicsCollisionDetector());
   }
 
-  public boolean register(PhysicsCollisionDetector physicsCollisionDetector) {
-    if (detectors.contains(physicsCollisionDetector)) {
+  /**
+   * register a <code>PhysicsCollisionDetector</code> for the pair of <code>GameObject</code>
+   * types, it is also invoked (with swapped arguments) for the pair in reverse order.
+   *
+   * @param typeA                    type of <code>GameObject</code> a
+   * @param typeB                    type of <code>GameObject</code> b
+   * @param physicsCollisionDetector <code>PhysicsCollisionDetector</code>
+   * @return return true if registered, otherwise return false
+   */
+  public <A extends GameObject, B extends GameObject> boolean register(Class<A> typeA,
+      Class<B> typeB, PhysicsCollisionDetector<? super A, ? super B> physicsCollisionDetector) {
+    Registration registration = new Registration(typeA, typeB, physicsCollisionDetector);
+    if (registrations.contains(registration)) {
       return false;
     }
-    return detectors.add(physicsCollisionDetector);
+    boolean added = registrations.add(registration);
+    // resolve again on demand
+    dispatchTable.clear();
+    return added;
   }
 
   @Override
   public boolean detect(GameObject a, GameObject b) {
-    return detectors.stream().anyMatch(detector -> detector.detect(a, b));
+    for (Dispatch dispatch : lookup(a.getClass(), b.getClass())) {
+      if (dispatch.detect(a, b)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private Dispatch[] lookup(Class<?> typeA, Class<?> typeB) {
+    Map<Class<?>, Dispatch[]> row = dispatchTable.get(typeA);
+    if (row == null) {
+      row = dispatchTable.computeIfAbsent(typeA, k -> new ConcurrentHashMap<>());
+    }
+    Dispatch[] dispatches = row.get(typeB);
+    if (dispatches == null) {
+      dispatches = resolve(typeA, typeB);
+      row.put(typeB, dispatches);
+    }
+    return dispatches;
+  }
+
+  private Dispatch[] resolve(Class<?> typeA, Class<?> typeB) {
+    List<Dispatch> dispatches = new ArrayList<>();
+    for (Registration registration : registrations) {
+      if (registration.typeA.isAssignableFrom(typeA) && registration.typeB
+          .isAssignableFrom(typeB)) {
+        dispatches.add(new Dispatch(registration.detector, false));
+      } else if (registration.typeA.isAssignableFrom(typeB) && registration.typeB
+          .isAssignableFrom(typeA)) {
+        dispatches.add(new Dispatch(registration.detector, true));
+      }
+    }
+    return dispatches.isEmpty() ? NONE : dispatches.toArray(new Dispatch[0]);
+  }
+
+  private static final class Registration {
+
+    private final Class<?> typeA;
+    private final Class<?> typeB;
+    private final PhysicsCollisionDetector<?, ?> detector;
+
+    Registration(Class<?> typeA, Class<?> typeB, PhysicsCollisionDetector<?, ?> detector) {
+      this.typeA = Objects.requireNonNull(typeA);
+      this.typeB = Objects.requireNonNull(typeB);
+      this.detector = Objects.requireNonNull(detector);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      Registration that = (Registration) o;
+      return typeA.equals(that.typeA) && typeB.equals(that.typeB)
+          && detector.equals(that.detector);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(typeA, typeB, detector);
+    }
+  }
+
+  private static final class Dispatch {
+
+    private final PhysicsCollisionDetector<GameObject, GameObject> detector;
+
+    // the detector is registered for the pair in reverse order
+    private final boolean swapped;
+
+    @SuppressWarnings("unchecked")
+    Dispatch(PhysicsCollisionDetector<?, ?> detector, boolean swapped) {
+      this.detector = (PhysicsCollisionDetector<GameObject, GameObject>) detector;
+      this.swapped = swapped;
+    }
+
+    boolean detect(GameObject a, GameObject b) {
+      return swapped ? detector.detect(b, a) : detector.detect(a, b);
+    }
   }
 
 }
@@ -0,0 +1,269 @@
+/*
+ * Copyright (c) 2020 SvenAugustus
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.flysium.io.tank.service.collision;
+
+import com.github.flysium.io.tank.model.GameObject;
+import java.awt.Rectangle;
+import java.util.Arrays;
+
+/**
+ * Uniform grid broadphase of physics collision detection, the cells are stored in a spatial hash
+ * so that the grid is unbounded (bullets may fly outbound).
+ *
+ * <p>Only the <code>GameObject</code>s which share at least one cell are reported as candidates,
+ * the narrowphase is still done by the <code>PhysicsCollisionDetector</code>s.
+ *
+ * <p>It is not thread-safe, it should be rebuilt by the thread which detects physics collisions.
+ *
+ * @author Sven Augustus
+ * @version 1.0
+ */
+public class SpatialHashGrid {
+
+  private static final int EMPTY = -1;
+
+  // cell size
+  private final int cellSize;
+
+  // objects by insertion order, and the range of cells they cover
+  private GameObject[] objects = new GameObject[64];
+  private int[] minCellX = new int[64];
+  private int[] minCellY = new int[64];
+  private int[] maxCellX = new int[64];
+  private int[] maxCellY = new int[64];
+  private int objectCount;
+
+  // hash buckets, the head entry of each bucket
+  private int[] buckets = newBuckets(256);
+
+  // entries (object, cell) linked by bucket
+  private int[] entryObject = new int[256];
+  private int[] entryCellX = new int[256];
+  private int[] entryCellY = new int[256];
+  private int[] entryNext = new int[256];
+  private int entryCount;
+
+  // query result, sorted by insertion order
+  private int[] candidates = new int[64];
+  private int candidateCount;
+  private int[] marks = new int[64];
+  private int markStamp;
+
+  public SpatialHashGrid(int cellSize) {
+    if (cellSize <= 0) {
+      throw new IllegalArgumentException("cellSize must be positive: " + cellSize);
+    }
+    this.cellSize = cellSize;
+  }
+
+  /**
+   * Get the cell size
+   *
+   * @return cell size
+   */
+  public int getCellSize() {
+    return cellSize;
+  }
+
+  /**
+   * remove all <code>GameObject</code>s, prepare to rebuild for the next tick.
+   */
+  public void clear() {
+    Arrays.fill(objects, 0, objectCount, null);
+    objectCount = 0;
+    entryCount = 0;
+    Arrays.fill(buckets, EMPTY);
+  }
+
+  /**
+   * Get the count of <code>GameObject</code>s in the grid.
+   *
+   * @return count
+   */
+  public int size() {
+    return objectCount;
+  }
+
+  /**
+   * Get the <code>GameObject</code> by the insertion order.
+   *
+   * @param index insertion order
+   * @return <code>GameObject</code>
+   */
+  public GameObject get(int index) {
+    return objects[index];
+  }
+
+  /**
+   * insert a <code>GameObject</code> by it's location snapshot.
+   *
+   * @param gameObject <code>GameObject</code>
+   * @return insertion order
+   */
+  public int insert(GameObject gameObject) {
+    Rectangle location = gameObject.getLocation();
+    return insert(gameObject, location.x, location.y, location.width, location.height);
+  }
+
+  /**
+   * insert a <code>GameObject</code> which covers the specified area.
+   *
+   * @param gameObject <code>GameObject</code>
+   * @param x          the X coordinate of the area
+   * @param y          the Y coordinate of the area
+   * @param width      the width of the area
+   * @param height     the height of the area
+   * @return insertion order
+   */
+  public int insert(GameObject gameObject, int x, int y, int width, int height) {
+    final int index = objectCount;
+    ensureObjectCapacity(index + 1);
+    objects[index] = gameObject;
+    objectCount++;
+
+    // an empty area never intersects with anything, just take it in the insertion order.
+    if (width <= 0 || height <= 0) {
+      minCellX[index] = 0;
+      maxCellX[index] = -1;
+      minCellY[index] = 0;
+      maxCellY[index] = -1;
+      return index;
+    }
+    final int x1 = Math.floorDiv(x, cellSize);
+    final int y1 = Math.floorDiv(y, cellSize);
+    final int x2 = Math.floorDiv(x + width - 1, cellSize);
+    final int y2 = Math.floorDiv(y + height - 1, cellSize);
+    minCellX[index] = x1;
+    minCellY[index] = y1;
+    maxCellX[index] = x2;
+    maxCellY[index] = y2;
+
+    for (int cx = x1; cx <= x2; cx++) {
+      for (int cy = y1; cy <= y2; cy++) {
+        addEntry(index, cx, cy);
+      }
+    }
+    return index;
+  }
+
+  /**
+   * Query the <code>GameObject</code>s which share at least one cell with the specified one, the
+   * result can be fetched by {@link #getCandidate(int)} in the insertion order.
+   *
+   * @param index insertion order of the <code>GameObject</code>
+   * @return the count of candidates
+   */
+  public int query(int index) {
+    candidateCount = 0;
+    if (++markStamp == 0) {
+      Arrays.fill(marks, 0);
+      markStamp = 1;
+    }
+    if (marks.length < objectCount) {
+      marks = Arrays.copyOf(marks, Math.max(objectCount, marks.length * 2));
+    }
+    marks[index] = markStamp;
+
+    for (int cx = minCellX[index]; cx <= maxCellX[index]; cx++) {
+      for (int cy = minCellY[index]; cy <= maxCellY[index]; cy++) {
+        int entry = buckets[hash(cx, cy) & (buckets.length - 1)];
+        while (entry != EMPTY) {
+          final int other = entryObject[entry];
+          if (entryCellX[entry] == cx && entryCellY[entry] == cy && marks[other] != markStamp) {
+            marks[other] = markStamp;
+            if (candidateCount == candidates.length) {
+              candidates = Arrays.copyOf(candidates, candidateCount * 2);
+            }
+            candidates[candidateCount++] = other;
+          }
+          entry = entryNext[entry];
+        }
+      }
+    }
+    Arrays.sort(candidates, 0, candidateCount);
+    return candidateCount;
+  }
+
+  /**
+   * Get the candidate of the last query.
+   *
+   * @param i the i-th candidate
+   * @return insertion order of the candidate
+   */
+  public int getCandidate(int i) {
+    return candidates[i];
+  }
+
+  private void addEntry(int index, int cx, int cy) {
+    if (entryCount == entryObject.length) {
+      final int capacity = entryCount * 2;
+      entryObject = Arrays.copyOf(entryObject, capacity);
+      entryCellX = Arrays.copyOf(entryCellX, capacity);
+      entryCellY = Arrays.copyOf(entryCellY, capacity);
+      entryNext = Arrays.copyOf(entryNext, capacity);
+    }
+    if (entryCount >= buckets.length) {
+      rehash(buckets.length * 2);
+    }
+    final int entry = entryCount++;
+    final int bucket = hash(cx, cy) & (buckets.length - 1);
+    entryObject[entry] = index;
+    entryCellX[entry] = cx;
+    entryCellY[entry] = cy;
+    entryNext[entry] = buckets[bucket];
+    buckets[bucket] = entry;
+  }
+
+  private void rehash(int bucketCount) {
+    buckets = newBuckets(bucketCount);
+    for (int entry = 0; entry < entryCount; entry++) {
+      final int bucket = hash(entryCellX[entry], entryCellY[entry]) & (bucketCount - 1);
+      entryNext[entry] = buckets[bucket];
+      buckets[bucket] = entry;
+    }
+  }
+
+  private void ensureObjectCapacity(int capacity) {
+    if (capacity <= objects.length) {
+      return;
+    }
+    final int newCapacity = Math.max(capacity, objects.length * 2);
+    objects = Arrays.copyOf(objects, newCapacity);
+    minCellX = Arrays.copyOf(minCellX, newCapacity);
+    minCellY = Arrays.copyOf(minCellY, newCapacity);
+    maxCellX = Arrays.copyOf(maxCellX, newCapacity);
+    maxCellY = Arrays.copyOf(maxCellY, newCapacity);
+  }
+
+  private static int[] newBuckets(int bucketCount) {
+    int[] buckets = new int[bucketCount];
+    Arrays.fill(buckets, EMPTY);
+    return buckets;
+  }
+
+  private static int hash(int cx, int cy) {
+    int h = cx * 73856093 ^ cy * 19349663;
+    return h ^ (h >>> 16);
+  }
+
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2020 SvenAugustus
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.flysium.io.tank.service.collision;
+
+import com.github.flysium.io.tank.model.Wall;
+import java.awt.Rectangle;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Static index of <code>Wall</code>s, the walls never move, so they are baked into a grid of cells
+ * once, with an occupancy bitmap of the cells which are covered by any wall.
+ *
+ * <p>A moving object looks up the cells it covers instead of scanning every wall, an empty cell
+ * costs one bit test, so the lookup is constant-time for an object of the bounded size.
+ *
+ * <p>It is not thread-safe, it should be rebuilt and queried by the thread which detects physics
+ * collisions.
+ *
+ * @author Sven Augustus
+ * @version 1.0
+ */
+public class StaticWallIndex {
+
+  // cell size
+  private final int cellSize;
+
+  // walls by index
+  private Wall[] walls = new Wall[0];
+
+  // the grid covers all walls, from the origin cell
+  private int originCellX;
+  private int originCellY;
+  private int columns;
+  private int rows;
+
+  // occupancy bitmap of cells
+  private long[] occupancy = new long[0];
+
+  // walls of cell c are cellWalls[cellStart[c]] to cellWalls[cellStart[c + 1] - 1]
+  private int[] cellStart = new int[1];
+  private int[] cellWalls = new int[0];
+
+  // query result, sorted by index
+  private int[] candidates = new int[16];
+  private int candidateCount;
+  private int[] marks = new int[0];
+  private int markStamp;
+
+  public StaticWallIndex(int cellSize) {
+    if (cellSize <= 0) {
+      throw new IllegalArgumentException("cellSize must be positive: " + cellSize);
+    }
+    this.cellSize = cellSize;
+  }
+
+  /**
+   * Get the cell size
+   *
+   * @return cell size
+   */
+  public int getCellSize() {
+    return cellSize;
+  }
+
+  /**
+   * Get the count of <code>Wall</code>s in the index.
+   *
+   * @return count
+   */
+  public int size() {
+    return walls.length;
+  }
+
+  /**
+   * rebuild the index, when walls are created or a map is loaded.
+   *
+   * @param walls all <code>Wall</code>s of the world
+   */
+  public void rebuild(List<Wall> walls) {
+    this.walls = walls.toArray(new Wall[0]);
+    if (marks.length < this.walls.length) {
+      marks = new int[this.walls.length];
+      markStamp = 0;
+    }
+
+    // the cells covered by all walls
+    int minX = Integer.MAX_VALUE;
+    int minY = Integer.MAX_VALUE;
+    int maxX = Integer.MIN_VALUE;
+    int maxY = Integer.MIN_VALUE;
+    for (Wall wall : this.walls) {
+      Rectangle location = wall.getLocation();
+      if (location.width <= 0 || location.height <= 0) {
+        continue;
+      }
+      minX = Math.min(minX, Math.floorDiv(location.x, cellSize));
+      minY = Math.min(minY, Math.floorDiv(location.y, cellSize));
+      maxX = Math.max(maxX, Math.floorDiv(location.x + location.width - 1, cellSize));
+      maxY = Math.max(maxY, Math.floorDiv(location.y + location.height - 1, cellSize));
+    }
+    if (minX > maxX) {
+      originCellX = 0;
+      originCellY = 0;
+      columns = 0;
+      rows = 0;
+      occupancy = new long[0];
+      cellStart = new int[1];
+      cellWalls = new int[0];
+      return;
+    }
+    originCellX = minX;
+    originCellY = minY;
+    columns = maxX - minX + 1;
+    rows = maxY - minY + 1;
+    final int cellCount = columns * rows;
+    occupancy = new long[(cellCount + 63) >>> 6];
+    cellStart = new int[cellCount + 1];
+
+    // count the walls of each cell, then fill them
+    for (Wall wall : this.walls) {
+      forEachCell(wall.getLocation(), cell -> cellStart[cell + 1]++);
+    }
+    for (int cell = 0; cell < cellCount; cell++) {
+      if (cellStart[cell + 1] > 0) {
+        occupancy[cell >>> 6] |= 1L << cell;
+      }
+      cellStart[cell + 1] += cellStart[cell];
+    }
+    cellWalls = new int[cellStart[cellCount]];
+    final int[] fill = Arrays.copyOf(cellStart, cellCount);
+    for (int i = 0; i < this.walls.length; i++) {
+      final int index = i;
+      forEachCell(this.walls[i].getLocation(), cell -> cellWalls[fill[cell]++] = index);
+    }
+  }
+
+  /**
+   * Query the <code>Wall</code>s which share at least one cell with the specified area, the result
+   * can be fetched by {@link #getCandidate(int)} in the index order.
+   *
+   * @param x      the X coordinate of the area
+   * @param y      the Y coordinate of the area
+   * @param width  the width of the area
+   * @param height the height of the area
+   * @return the count of candidates
+   */
+  public int query(int x, int y, int width, int height) {
+    candidateCount = 0;
+    if (width <= 0 || height <= 0 || columns == 0) {
+      return 0;
+    }
+    // clip to the grid, no wall is out of it
+    final int x1 = Math.max(Math.floorDiv(x, cellSize) - originCellX, 0);
+    final int y1 = Math.max(Math.floorDiv(y, cellSize) - originCellY, 0);
+    final int x2 = Math.min(Math.floorDiv(x + width - 1, cellSize) - originCellX, columns - 1);
+    final int y2 = Math.min(Math.floorDiv(y + height - 1, cellSize) - originCellY, rows - 1);
+    if (x1 > x2 || y1 > y2) {
+      return 0;
+    }
+    if (++markStamp == 0) {
+      Arrays.fill(marks, 0);
+      markStamp = 1;
+    }
+    for (int cy = y1; cy <= y2; cy++) {
+      for (int cx = x1; cx <= x2; cx++) {
+        final int cell = cy * columns + cx;
+        if ((occupancy[cell >>> 6] & (1L << cell)) == 0) {
+          continue;
+        }
+        for (int e = cellStart[cell]; e < cellStart[cell + 1]; e++) {
+          final int index = cellWalls[e];
+          if (marks[index] != markStamp) {
+            marks[index] = markStamp;
+            if (candidateCount == candidates.length) {
+              candidates = Arrays.copyOf(candidates, candidateCount * 2);
+            }
+            candidates[candidateCount++] = index;
+          }
+        }
+      }
+    }
+    if (candidateCount > 1) {
+      Arrays.sort(candidates, 0, candidateCount);
+    }
+    return candidateCount;
+  }
+
+  /**
+   * Get the candidate of the last query.
+   *
+   * @param i the i-th candidate
+   * @return <code>Wall</code>
+   */
+  public Wall getCandidate(int i) {
+    return walls[candidates[i]];
+  }
+
+  private void forEachCell(Rectangle location, CellConsumer consumer) {
+    if (location.width <= 0 || location.height <= 0) {
+      return;
+    }
+    final int x1 = Math.floorDiv(location.x, cellSize) - originCellX;
+    final int y1 = Math.floorDiv(location.y, cellSize) - originCellY;
+    final int x2 = Math.floorDiv(location.x + location.width - 1, cellSize) - originCellX;
+    final int y2 = Math.floorDiv(location.y + location.height - 1, cellSize) - originCellY;
+    for (int cy = y1; cy <= y2; cy++) {
+      for (int cx = x1; cx <= x2; cx++) {
+        consumer.accept(cy * columns + cx);
+      }
+    }
+  }
+
+  @FunctionalInterface
+  private interface CellConsumer {
+
+    void accept(int cell);
+  }
+
+}
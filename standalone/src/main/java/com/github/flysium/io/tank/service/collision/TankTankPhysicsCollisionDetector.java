@@ -22,7 +22,6 @@
 
 package com.github.flysium.io.tank.service.collision;
 
-import com.github.flysium.io.tank.model.GameObject;
 import com.github.flysium.io.tank.model.Tank;
 
 /**
@@ -31,24 +30,20 @@ import com.github.flysium.io.tank.model.Tank;
  * @author Sven Augustus
  * @version 1.0
  */
-public class TankTankPhysicsCollisionDetector implements PhysicsCollisionDetector {
+public class TankTankPhysicsCollisionDetector implements PhysicsCollisionDetector<Tank, Tank> {
 
   @Override
-  public boolean detect(GameObject a, GameObject b) {
-    if (a == b) {
+  public boolean detect(Tank that, Tank other) {
+    if (that == other) {
       return false;
     }
-    if (a instanceof Tank && b instanceof Tank) {
-      Tank that = (Tank) a;
-      Tank other = (Tank) b;
-      if (that.isAlive() && other.isAlive()
-          // physics collision occurs when they intersects is true
-          && that.getLocation().intersects(other.getLocation())
-      ) {
-        // handle physics collision
-        that.back();
-        other.back();
-      }
+    if (that.isAlive() && other.isAlive()
+        // physics collision occurs when they intersects is true
+        && that.getLocation().intersects(other.getLocation())
+    ) {
+      // handle physics collision
+      that.back();
+      other.back();
     }
     return false;
   }
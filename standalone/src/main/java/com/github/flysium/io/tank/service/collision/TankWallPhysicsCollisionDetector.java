@@ -22,7 +22,6 @@
 
 package com.github.flysium.io.tank.service.collision;
 
-import com.github.flysium.io.tank.model.GameObject;
 import com.github.flysium.io.tank.model.Tank;
 import com.github.flysium.io.tank.model.Wall;
 
@@ -32,20 +31,15 @@ import com.github.flysium.io.tank.model.Wall;
  * @author Sven Augustus
  * @version 1.0
  */
-public class TankWallPhysicsCollisionDetector implements PhysicsCollisionDetector {
+public class TankWallPhysicsCollisionDetector implements PhysicsCollisionDetector<Tank, Wall> {
 
   @Override
-  public boolean detect(GameObject a, GameObject b) {
-    if (a instanceof Wall && b instanceof Tank) {
-      Tank tank = (Tank) b;
-      if (tank.isAlive()
-          // physics collision occurs when they intersects is true
-          && a.getLocation().intersects(tank.getLocation())) {
-        // handle physics collision
-        tank.back();
-      }
-    } else if (a instanceof Tank && b instanceof Wall) {
-      return detect(b, a);
+  public boolean detect(Tank tank, Wall wall) {
+    if (tank.isAlive()
+        // physics collision occurs when they intersects is true
+        && wall.getLocation().intersects(tank.getLocation())) {
+      // handle physics collision
+      tank.back();
     }
     return false;
   }
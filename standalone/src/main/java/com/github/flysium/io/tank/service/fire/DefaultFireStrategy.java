@@ -44,10 +44,20 @@ public class DefaultFireStrategy implements FireStrategy, Serializable {
     fireOut(tank, tank.getDirection());
   }
 
+  // attributes by direction, they are never changed by GameModel
+  private transient BulletAttributes[] attributes;
+
   protected void fireOut(Tank tank, Direction direction) {
-    Bullet bullet = GameModel.getSingleton().createBullet(tank, BulletAttributes.builder()
-        .initialDirection(direction)
-        .build());
+    if (attributes == null) {
+      attributes = new BulletAttributes[Direction.values().length];
+    }
+    BulletAttributes bulletAttributes = attributes[direction.ordinal()];
+    if (bulletAttributes == null) {
+      bulletAttributes = attributes[direction.ordinal()] = BulletAttributes.builder()
+          .initialDirection(direction)
+          .build();
+    }
+    Bullet bullet = GameModel.getSingleton().createBullet(tank, bulletAttributes);
     if (bullet != null) {
       bullet.arise();
     }
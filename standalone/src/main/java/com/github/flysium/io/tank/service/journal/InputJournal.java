@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2020 SvenAugustus
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.flysium.io.tank.service.journal;
+
+import com.github.flysium.io.tank.model.Direction;
+import com.github.flysium.io.tank.model.FinalRectangle;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Compact tick-stamped journal of the inputs of a world: the commands, the random draws, the
+ * restored snapshots, and the periodic checks of the state. It's recorded by the simulation thread
+ * in memory, and replayed by the <code>ReplayEngine</code>.
+ *
+ * <p>An event starts with a byte of it's type (low 3 bits) and the ticks since the last event (high
+ * 5 bits, 31 means that the rest follows as a var-long), so most events take one to three bytes.
+ *
+ * <pre>
+ * header:   int magic "TWJN", short version, short length and UTF-8 bytes of the painter class,
+ *           int x, y, width, height of the bounds
+ * move:     byte direction
+ * fire:     -
+ * automatic: -
+ * random:   var-int bound, var-int value
+ * restore:  var-int length, encoded <code>GameSnapshot</code>
+ * check:    long hash of the state
+ * </pre>
+ *
+ * <p>It is thread-safe, so that it can be written while it's recorded.
+ *
+ * @author Sven Augustus
+ * @version 1.0
+ */
+public final class InputJournal {
+
+  public static final int MAGIC = 0x54574A4E;
+  public static final short VERSION = 1;
+
+  public static final byte MOVE = 1;
+  public static final byte FIRE = 2;
+  public static final byte AUTOMATIC = 3;
+  public static final byte RANDOM = 4;
+  public static final byte RESTORE = 5;
+  public static final byte CHECK = 6;
+
+  static final int TICK_DELTA_ESCAPE = 31;
+
+  private byte[] bytes = new byte[4096];
+  private int length;
+  private long lastTick;
+
+  /**
+   * Create a journal of a world.
+   *
+   * @param painterClass class name of the painter, which gives the shapes
+   * @param bounds       bounds of the world
+   */
+  public InputJournal(String painterClass, FinalRectangle bounds) {
+    writeInt(MAGIC);
+    writeShort(VERSION);
+    byte[] painter = painterClass.getBytes(StandardCharsets.UTF_8);
+    writeShort(painter.length);
+    write(painter, 0, painter.length);
+    writeInt(bounds.x);
+    writeInt(bounds.y);
+    writeInt(bounds.width);
+    writeInt(bounds.height);
+  }
+
+  public synchronized void recordMove(long tick, Direction direction) {
+    event(MOVE, tick);
+    writeByte(direction.ordinal());
+  }
+
+  public synchronized void recordFire(long tick) {
+    event(FIRE, tick);
+  }
+
+  public synchronized void recordAutomatic(long tick) {
+    event(AUTOMATIC, tick);
+  }
+
+  public synchronized void recordRandom(long tick, int bound, int value) {
+    event(RANDOM, tick);
+    writeVarLong(bound);
+    writeVarLong(value);
+  }
+
+  public synchronized void recordRestore(long tick, ByteBuffer snapshot) {
+    event(RESTORE, tick);
+    writeVarLong(snapshot.remaining());
+    ByteBuffer copy = snapshot.duplicate();
+    ensureCapacity(length + copy.remaining());
+    final int count = copy.remaining();
+    copy.get(bytes, length, count);
+    length += count;
+  }
+
+  public synchronized void recordCheck(long tick, long hash) {
+    event(CHECK, tick);
+    writeInt((int) (hash >>> 32));
+    writeInt((int) hash);
+  }
+
+  /**
+   * Get the size of the journal.
+   *
+   * @return bytes
+   */
+  public synchronized int size() {
+    return length;
+  }
+
+  /**
+   * write the journal.
+   *
+   * @param out <code>OutputStream</code>
+   * @throws IOException if an I/O error occurs
+   */
+  public void writeTo(OutputStream out) throws IOException {
+    out.write(toByteArray());
+  }
+
+  public synchronized byte[] toByteArray() {
+    return Arrays.copyOf(bytes, length);
+  }
+
+  private void event(byte type, long tick) {
+    final long delta = tick - lastTick;
+    if (delta < 0) {
+      throw new IllegalArgumentException("tick " + tick + " is before " + lastTick);
+    }
+    lastTick = tick;
+    if (delta < TICK_DELTA_ESCAPE) {
+      writeByte((int) (type | (delta << 3)));
+    } else {
+      writeByte(type | (TICK_DELTA_ESCAPE << 3));
+      writeVarLong(delta - TICK_DELTA_ESCAPE);
+    }
+  }
+
+  private void writeVarLong(long value) {
+    while ((value & ~0x7FL) != 0) {
+      writeByte((int) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    writeByte((int) value);
+  }
+
+  private void writeInt(int value) {
+    writeShort(value >>> 16);
+    writeShort(value);
+  }
+
+  private void writeShort(int value) {
+    writeByte(value >>> 8);
+    writeByte(value);
+  }
+
+  private void writeByte(int value) {
+    ensureCapacity(length + 1);
+    bytes[length++] = (byte) value;
+  }
+
+  private void write(byte[] b, int offset, int count) {
+    ensureCapacity(length + count);
+    System.arraycopy(b, offset, bytes, length, count);
+    length += count;
+  }
+
+  private void ensureCapacity(int capacity) {
+    if (capacity > bytes.length) {
+      bytes = Arrays.copyOf(bytes, Math.max(capacity, bytes.length * 2));
+    }
+  }
+
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2020 SvenAugustus
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.flysium.io.tank.service.journal;
+
+import com.github.flysium.io.tank.model.Direction;
+import com.github.flysium.io.tank.model.FinalRectangle;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reader of an <code>InputJournal</code>, it reads the events one by one. The event is peeked by
+ * {@link #hasNext()}, and taken by {@link #next()}.
+ *
+ * @author Sven Augustus
+ * @version 1.0
+ */
+public final class JournalReader {
+
+  private static final Direction[] DIRECTIONS = Direction.values();
+
+  private final ByteBuffer buffer;
+  private final String painterClass;
+  private final FinalRectangle bounds;
+
+  // the peeked event
+  private boolean peeked;
+  private byte type;
+  private long tick;
+
+  // payload of the current event
+  private Direction direction;
+  private int bound;
+  private int value;
+  private ByteBuffer snapshot;
+  private long hash;
+
+  /**
+   * read the header of a journal.
+   *
+   * @param journal bytes of the journal
+   * @throws IOException if it's not a journal of a supported version
+   */
+  public JournalReader(byte[] journal) throws IOException {
+    this.buffer = ByteBuffer.wrap(journal);
+    try {
+      if (buffer.getInt() != InputJournal.MAGIC) {
+        throw new IOException("not a journal");
+      }
+      final short version = buffer.getShort();
+      if (version != InputJournal.VERSION) {
+        throw new IOException("unsupported version of journal: " + version);
+      }
+      byte[] painter = new byte[buffer.getShort() & 0xFFFF];
+      buffer.get(painter);
+      this.painterClass = new String(painter, StandardCharsets.UTF_8);
+      this.bounds = new FinalRectangle(buffer.getInt(), buffer.getInt(), buffer.getInt(),
+          buffer.getInt());
+    } catch (BufferUnderflowException e) {
+      throw new IOException("truncated journal", e);
+    }
+  }
+
+  public String getPainterClass() {
+    return painterClass;
+  }
+
+  public FinalRectangle getBounds() {
+    return bounds;
+  }
+
+  /**
+   * whether there is a next event or not, it peeks the type and the tick of the event.
+   *
+   * @return return true if there is a next event, otherwise return false.
+   * @throws IOException if the journal is corrupted
+   */
+  public boolean hasNext() throws IOException {
+    if (peeked) {
+      return true;
+    }
+    if (!buffer.hasRemaining()) {
+      return false;
+    }
+    try {
+      final int head = buffer.get() & 0xFF;
+      type = (byte) (head & 0x07);
+      long delta = head >>> 3;
+      if (delta == InputJournal.TICK_DELTA_ESCAPE) {
+        delta += readVarLong();
+      }
+      tick += delta;
+    } catch (BufferUnderflowException e) {
+      throw new IOException("truncated journal", e);
+    }
+    peeked = true;
+    return true;
+  }
+
+  /**
+   * Get the type of the peeked (or current) event.
+   *
+   * @return type, see the constants of <code>InputJournal</code>
+   */
+  public byte getType() {
+    return type;
+  }
+
+  /**
+   * Get the tick of the peeked (or current) event.
+   *
+   * @return tick
+   */
+  public long getTick() {
+    return tick;
+  }
+
+  /**
+   * take the next event and it's payload.
+   *
+   * @return type of the event
+   * @throws IOException if there is no more event, or the journal is corrupted
+   */
+  public byte next() throws IOException {
+    if (!hasNext()) {
+      throw new IOException("end of journal");
+    }
+    peeked = false;
+    try {
+      switch (type) {
+        case InputJournal.MOVE:
+          final int ordinal = buffer.get();
+          if (ordinal < 0 || ordinal >= DIRECTIONS.length) {
+            throw new IOException("corrupted direction: " + ordinal);
+          }
+          direction = DIRECTIONS[ordinal];
+          break;
+        case InputJournal.FIRE:
+        case InputJournal.AUTOMATIC:
+          break;
+        case InputJournal.RANDOM:
+          bound = (int) readVarLong();
+          value = (int) readVarLong();
+          break;
+        case InputJournal.RESTORE:
+          final int length = (int) readVarLong();
+          if (length < 0 || length > buffer.remaining()) {
+            throw new IOException("corrupted snapshot of " + length + " bytes");
+          }
+          snapshot = buffer.slice();
+          snapshot.limit(length);
+          buffer.position(buffer.position() + length);
+          break;
+        case InputJournal.CHECK:
+          hash = buffer.getLong();
+          break;
+        default:
+          throw new IOException("unknown event: " + type);
+      }
+    } catch (BufferUnderflowException e) {
+      throw new IOException("truncated journal", e);
+    }
+    return type;
+  }
+
+  public Direction getDirection() {
+    return direction;
+  }
+
+  public int getBound() {
+    return bound;
+  }
+
+  public int getValue() {
+    return value;
+  }
+
+  public ByteBuffer getSnapshot() {
+    return snapshot.duplicate();
+  }
+
+  public long getHash() {
+    return hash;
+  }
+
+  private long readVarLong() throws IOException {
+    long value = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      final int b = buffer.get() & 0xFF;
+      value |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IOException("corrupted var-long");
+  }
+
+}
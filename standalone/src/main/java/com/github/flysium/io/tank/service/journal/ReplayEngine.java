@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2020 SvenAugustus
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.flysium.io.tank.service.journal;
+
+import com.github.flysium.io.tank.config.utils.LogUtils;
+import com.github.flysium.io.tank.service.GameModel;
+import com.github.flysium.io.tank.service.GameSnapshot;
+import com.github.flysium.io.tank.service.RandomSource;
+import com.github.flysium.io.tank.service.painter.GameObjectPainter;
+import com.github.flysium.io.tank.service.painter.SimpleGameObjectPainter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Replay engine, it re-runs a recorded <code>InputJournal</code> in a headless world as fast as
+ * possible. The world takes the painter of the recording for the shapes, and the current
+ * configuration for the rest.
+ *
+ * <p>The events of a tick are applied in the command phase of the tick in the recorded order, and
+ * the random draws are taken from the journal. The state is compared with the recorded checks, the
+ * replay stops at the first mismatch.
+ *
+ * @author Sven Augustus
+ * @version 1.0
+ */
+public class ReplayEngine {
+
+  private final JournalReader reader;
+  private final GameModel gameModel;
+
+  private long checks;
+  private long mismatchTick = -1;
+
+  /**
+   * prepare a replay, the world is installed as the singleton.
+   *
+   * @param journal bytes of the journal
+   * @throws IOException if it's not a journal of a supported version
+   */
+  public ReplayEngine(byte[] journal) throws IOException {
+    this.reader = new JournalReader(journal);
+    this.gameModel = new GameModel(reader.getBounds(), newPainter(reader.getPainterClass()),
+        true);
+    GameModel.setSingleton(gameModel);
+    gameModel.setRandomSource(new ReplayRandomSource());
+  }
+
+  private static GameObjectPainter newPainter(String clazzName) {
+    try {
+      return (GameObjectPainter) Class.forName(clazzName).getConstructor().newInstance();
+    } catch (InstantiationException | IllegalAccessException | ClassNotFoundException
+        | NoSuchMethodException | InvocationTargetException | ClassCastException e) {
+      LogUtils.warn(e, "failed to create painter: %s", clazzName);
+    }
+    return new SimpleGameObjectPainter();
+  }
+
+  public GameModel getGameModel() {
+    return gameModel;
+  }
+
+  /**
+   * Get the count of the checks which are passed.
+   *
+   * @return count of checks
+   */
+  public long getChecks() {
+    return checks;
+  }
+
+  /**
+   * Get the tick of the first mismatch.
+   *
+   * @return tick, or -1 if there is no mismatch
+   */
+  public long getMismatchTick() {
+    return mismatchTick;
+  }
+
+  /**
+   * replay a tick.
+   *
+   * @return return false if the journal is ended, or the state mismatches.
+   * @throws IOException if the journal is corrupted, or out of sync with the world
+   */
+  public boolean step() throws IOException {
+    if (mismatchTick >= 0 || !reader.hasNext()) {
+      return false;
+    }
+    final long tick = gameModel.getTicks() + 1;
+    gameModel.submit(() -> {
+      try {
+        applyEvents(tick);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    });
+    try {
+      gameModel.tick();
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+    while (reader.hasNext() && reader.getTick() == tick
+        && reader.getType() == InputJournal.CHECK) {
+      reader.next();
+      if (reader.getHash() != gameModel.stateHash()) {
+        mismatchTick = tick;
+        return false;
+      }
+      checks++;
+    }
+    if (reader.hasNext() && reader.getTick() <= tick) {
+      throw new IOException("journal is out of sync at tick " + tick + ", event "
+          + reader.getType() + " of tick " + reader.getTick());
+    }
+    return true;
+  }
+
+  /**
+   * replay until the end of the journal, or the first mismatch.
+   *
+   * @return count of ticks
+   * @throws IOException if the journal is corrupted, or out of sync with the world
+   */
+  public long run() throws IOException {
+    long ticks = 0;
+    while (step()) {
+      ticks++;
+    }
+    return ticks;
+  }
+
+  private void applyEvents(long tick) throws IOException {
+    while (reader.hasNext() && reader.getTick() == tick
+        && reader.getType() != InputJournal.CHECK) {
+      switch (reader.next()) {
+        case InputJournal.MOVE:
+          gameModel.applyMoveMainTank(reader.getDirection());
+          break;
+        case InputJournal.FIRE:
+          gameModel.applyFireMainTank();
+          break;
+        case InputJournal.AUTOMATIC:
+          gameModel.applyAutomatic();
+          break;
+        case InputJournal.RESTORE:
+          gameModel.restore(GameSnapshot.decode(reader.getSnapshot()));
+          break;
+        default:
+          throw new IOException("unexpected event " + reader.getType() + " at tick " + tick);
+      }
+    }
+  }
+
+  /**
+   * random draws which are taken from the journal.
+   */
+  private class ReplayRandomSource implements RandomSource {
+
+    @Override
+    public int nextInt(int bound) {
+      try {
+        if (!reader.hasNext() || reader.getType() != InputJournal.RANDOM
+            || reader.getTick() != gameModel.getTicks()) {
+          throw new IOException("journal is out of sync at tick " + gameModel.getTicks()
+              + ", a random draw is expected");
+        }
+        reader.next();
+        if (reader.getBound() != bound) {
+          throw new IOException("journal is out of sync at tick " + gameModel.getTicks()
+              + ", a random draw of bound " + reader.getBound() + " is expected, not " + bound);
+        }
+        return reader.getValue();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2020 SvenAugustus
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.flysium.io.tank.service.navigation;
+
+import com.github.flysium.io.tank.model.Direction;
+import com.github.flysium.io.tank.model.FinalRectangle;
+
+/**
+ * Navigation grid of a world for a tank of the specified footprint, the world bounds are divided
+ * into square cells, and a cell is walkable if the tank whose top-left corner is anywhere in the
+ * cell never overlaps a wall.
+ *
+ * <p>It is built once by {@link #block(int, int, int, int)} of the walls, and then it's read-only,
+ * so that it can be shared by threads after it's safely published.
+ *
+ * @author Sven Augustus
+ * @version 1.0
+ */
+public final class NavigationGrid {
+
+  private final FinalRectangle bounds;
+  private final int cellSize;
+  private final int footprint;
+  private final int columns;
+  private final int rows;
+  private final boolean[] blocked;
+
+  public NavigationGrid(FinalRectangle bounds, int cellSize, int footprint) {
+    if (cellSize <= 0) {
+      throw new IllegalArgumentException("cellSize must be positive: " + cellSize);
+    }
+    this.bounds = bounds;
+    this.cellSize = cellSize;
+    this.footprint = footprint;
+    this.columns = Math.max(1, (bounds.width + cellSize - 1) / cellSize);
+    this.rows = Math.max(1, (bounds.height + cellSize - 1) / cellSize);
+    this.blocked = new boolean[columns * rows];
+
+    // the tank is kept in the bounds, so the cells it can't move into are blocked
+    final int maxColumn = Math.floorDiv(bounds.width - footprint, cellSize);
+    final int maxRow = Math.floorDiv(bounds.height - footprint, cellSize);
+    for (int row = 0; row < rows; row++) {
+      for (int column = 0; column < columns; column++) {
+        if (column > maxColumn || row > maxRow) {
+          blocked[row * columns + column] = true;
+        }
+      }
+    }
+  }
+
+  /**
+   * block the cells which a tank can't be in because of the obstacle, e.g. a wall.
+   *
+   * @param x      the X coordinate of the obstacle
+   * @param y      the Y coordinate of the obstacle
+   * @param width  the width of the obstacle
+   * @param height the height of the obstacle
+   */
+  public void block(int x, int y, int width, int height) {
+    if (width <= 0 || height <= 0) {
+      return;
+    }
+    // the tank covers at most the footprint plus the cell from the origin of it's cell
+    final int extent = footprint + cellSize - 1;
+    final int column1 = Math.max(0, Math.floorDiv(x - bounds.x - extent, cellSize) + 1);
+    final int column2 = Math.min(columns - 1, Math.floorDiv(x + width - bounds.x - 1, cellSize));
+    final int row1 = Math.max(0, Math.floorDiv(y - bounds.y - extent, cellSize) + 1);
+    final int row2 = Math.min(rows - 1, Math.floorDiv(y + height - bounds.y - 1, cellSize));
+    for (int row = row1; row <= row2; row++) {
+      for (int column = column1; column <= column2; column++) {
+        blocked[row * columns + column] = true;
+      }
+    }
+  }
+
+  public FinalRectangle getBounds() {
+    return bounds;
+  }
+
+  public int getCellSize() {
+    return cellSize;
+  }
+
+  public int getFootprint() {
+    return footprint;
+  }
+
+  public int getColumns() {
+    return columns;
+  }
+
+  public int getRows() {
+    return rows;
+  }
+
+  /**
+   * Get the count of cells.
+   *
+   * @return count
+   */
+  public int size() {
+    return blocked.length;
+  }
+
+  public boolean isWalkable(int cell) {
+    return !blocked[cell];
+  }
+
+  public int column(int cell) {
+    return cell % columns;
+  }
+
+  public int row(int cell) {
+    return cell / columns;
+  }
+
+  /**
+   * Get the cell of a tank whose top-left corner is at the specified location. It's the cell the
+   * corner is in, or the nearest walkable one of the cells the tank is in, e.g. it's stopped beside
+   * a wall.
+   *
+   * @param x the X coordinate of the tank
+   * @param y the Y coordinate of the tank
+   * @return cell, or -1 if there is no walkable cell
+   */
+  public int cellAt(int x, int y) {
+    final int column = Math.max(0, Math.min(columns - 1,
+        Math.floorDiv(x - bounds.x, cellSize)));
+    final int row = Math.max(0, Math.min(rows - 1, Math.floorDiv(y - bounds.y, cellSize)));
+    for (int dy = 0; dy <= 1 && row + dy < rows; dy++) {
+      for (int dx = 0; dx <= 1 && column + dx < columns; dx++) {
+        final int cell = (row + dy) * columns + column + dx;
+        if (!blocked[cell]) {
+          return cell;
+        }
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Get the direction from a cell to it's neighbour.
+   *
+   * @param from the cell
+   * @param to   the neighbour
+   * @return <code>Direction</code>, or null if they are not neighbours
+   */
+  public Direction direction(int from, int to) {
+    if (to == from - columns) {
+      return Direction.UP;
+    } else if (to == from + columns) {
+      return Direction.DOWN;
+    } else if (to == from - 1 && column(from) > 0) {
+      return Direction.LEFT;
+    } else if (to == from + 1 && column(to) > 0) {
+      return Direction.RIGHT;
+    }
+    return null;
+  }
+
+}
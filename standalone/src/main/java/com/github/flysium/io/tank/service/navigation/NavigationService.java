@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2020 SvenAugustus
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.flysium.io.tank.service.navigation;
+
+import com.github.flysium.io.tank.service.automatic.AutomaticWorld;
+
+/**
+ * Navigation of the automatic, it keeps the <code>NavigationGrid</code> of the walls of a world
+ * and it's <code>PathCache</code>, both of them are rebuilt when the walls are changed.
+ *
+ * <p>It is thread-safe, every thread finds paths by it's own <code>PathFinder</code>. The paths
+ * only depend on the grid, so that a cached path is the same as a found one whatever thread found
+ * it.
+ *
+ * @author Sven Augustus
+ * @version 1.0
+ */
+public class NavigationService {
+
+  private final int cellSize;
+  private final int cacheCapacity;
+
+  private final ThreadLocal<PathFinder> pathFinders = ThreadLocal.withInitial(PathFinder::new);
+
+  // navigation of the last walls
+  private volatile Navigation navigation;
+
+  public NavigationService(int cellSize, int cacheCapacity) {
+    this.cellSize = cellSize;
+    this.cacheCapacity = cacheCapacity;
+  }
+
+  /**
+   * Get the grid of the walls of the world for a tank of the specified footprint.
+   *
+   * @param world     <code>AutomaticWorld</code>
+   * @param footprint the width and the height of the tank
+   * @return <code>NavigationGrid</code>
+   */
+  public NavigationGrid getGrid(AutomaticWorld world, int footprint) {
+    Navigation current = navigation;
+    if (current == null || !current.matches(world, footprint)) {
+      synchronized (this) {
+        current = navigation;
+        if (current == null || !current.matches(world, footprint)) {
+          NavigationGrid grid = new NavigationGrid(world.getBounds(), cellSize, footprint);
+          for (int wall = 0; wall < world.getWallCount(); wall++) {
+            grid.block(world.getWallX(wall), world.getWallY(wall), world.getWallWidth(wall),
+                world.getWallHeight(wall));
+          }
+          current = new Navigation(world.getWallsVersion(), grid, new PathCache(cacheCapacity));
+          navigation = current;
+        }
+      }
+    }
+    return current.grid;
+  }
+
+  /**
+   * find the path from the start cell to the goal cell, it's taken from the cache if it's there,
+   * otherwise it's found and cached, so is the rest of it.
+   *
+   * @param grid  <code>NavigationGrid</code>
+   * @param start start cell, it must be walkable
+   * @param goal  goal cell, it must be walkable
+   * @return value of the path, see {@link PathCache#next(long)} and
+   * {@link PathCache#distance(long)}
+   */
+  public long findPath(NavigationGrid grid, int start, int goal) {
+    final Navigation current = navigation;
+    final PathCache cache = current != null && current.grid == grid ? current.cache : null;
+    if (cache != null) {
+      final long path = cache.get(start, goal);
+      if (path != PathCache.MISSING) {
+        return path;
+      }
+    }
+    final PathFinder pathFinder = pathFinders.get();
+    final int length = pathFinder.find(grid, start, goal);
+    if (length < 0) {
+      final long path = PathCache.path(-1, 0);
+      if (cache != null) {
+        cache.put(start, goal, path);
+      }
+      return path;
+    }
+    if (cache != null) {
+      for (int i = 0; i < length; i++) {
+        cache.put(pathFinder.getPath(i), goal, PathCache.path(
+            pathFinder.getPath(Math.min(i + 1, length - 1)), length - 1 - i));
+      }
+    }
+    return PathCache.path(pathFinder.getPath(Math.min(1, length - 1)), length - 1);
+  }
+
+  @Override
+  public String toString() {
+    final Navigation current = navigation;
+    return current == null ? "path cache size: 0" : current.cache.toString();
+  }
+
+  /**
+   * grid and cache of the walls.
+   */
+  private static final class Navigation {
+
+    private final int wallsVersion;
+    private final NavigationGrid grid;
+    private final PathCache cache;
+
+    Navigation(int wallsVersion, NavigationGrid grid, PathCache cache) {
+      this.wallsVersion = wallsVersion;
+      this.grid = grid;
+      this.cache = cache;
+    }
+
+    boolean matches(AutomaticWorld world, int footprint) {
+      return wallsVersion == world.getWallsVersion() && grid.getFootprint() == footprint
+          && grid.getBounds() == world.getBounds();
+    }
+  }
+
+}
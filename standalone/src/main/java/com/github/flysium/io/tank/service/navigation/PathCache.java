@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2020 SvenAugustus
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.flysium.io.tank.service.navigation;
+
+import java.util.Arrays;
+
+/**
+ * Cache of paths keyed by the start cell and the goal cell, a path is kept as the next cell and the
+ * distance, the rest of it is the path from the next cell. The keys and the values are in
+ * primitive arrays by open addressing, and the cache is cleared when it's full.
+ *
+ * <p>It is thread-safe.
+ *
+ * @author Sven Augustus
+ * @version 1.0
+ */
+public class PathCache {
+
+  /**
+   * the value of a path which is not cached.
+   */
+  public static final long MISSING = Long.MIN_VALUE;
+
+  private static final long EMPTY = -1L;
+
+  private final long[] keys;
+  private final long[] values;
+  private final int mask;
+  private final int maxSize;
+  private int size;
+
+  // statistics
+  private long hits;
+  private long misses;
+
+  /**
+   * Create a cache.
+   *
+   * @param capacity the max count of paths, it's rounded up to a power of two
+   */
+  public PathCache(int capacity) {
+    int length = Integer.highestOneBit(Math.max(8, capacity - 1)) << 2;
+    this.keys = new long[length];
+    this.values = new long[length];
+    this.mask = length - 1;
+    this.maxSize = length >>> 1;
+    Arrays.fill(keys, EMPTY);
+  }
+
+  /**
+   * encode a path.
+   *
+   * @param next     the next cell, or -1 if the goal is unreachable
+   * @param distance the count of steps to the goal
+   * @return value of the path
+   */
+  public static long path(int next, int distance) {
+    return ((long) distance << 32) | (next & 0xFFFFFFFFL);
+  }
+
+  /**
+   * Get the next cell of a path.
+   *
+   * @param path value of the path
+   * @return the next cell, or -1 if the goal is unreachable
+   */
+  public static int next(long path) {
+    return (int) path;
+  }
+
+  /**
+   * Get the distance of a path.
+   *
+   * @param path value of the path
+   * @return the count of steps to the goal
+   */
+  public static int distance(long path) {
+    return (int) (path >>> 32);
+  }
+
+  /**
+   * Get the cached path.
+   *
+   * @param start start cell
+   * @param goal  goal cell
+   * @return value of the path, or {@link #MISSING} if it is not cached
+   */
+  public synchronized long get(int start, int goal) {
+    final long key = key(start, goal);
+    for (int i = index(key); ; i = (i + 1) & mask) {
+      if (keys[i] == key) {
+        hits++;
+        return values[i];
+      }
+      if (keys[i] == EMPTY) {
+        misses++;
+        return MISSING;
+      }
+    }
+  }
+
+  /**
+   * cache a path.
+   *
+   * @param start start cell
+   * @param goal  goal cell
+   * @param path  value of the path
+   */
+  public synchronized void put(int start, int goal, long path) {
+    if (size >= maxSize) {
+      Arrays.fill(keys, EMPTY);
+      size = 0;
+    }
+    final long key = key(start, goal);
+    int i = index(key);
+    while (keys[i] != EMPTY && keys[i] != key) {
+      i = (i + 1) & mask;
+    }
+    if (keys[i] == EMPTY) {
+      keys[i] = key;
+      size++;
+    }
+    values[i] = path;
+  }
+
+  @Override
+  public synchronized String toString() {
+    return "path cache size: " + size + ", hits: " + hits + ", misses: " + misses;
+  }
+
+  private static long key(int start, int goal) {
+    return ((long) start << 32) | (goal & 0xFFFFFFFFL);
+  }
+
+  private int index(long key) {
+    long h = key * 0x9E3779B97F4A7C15L;
+    return (int) (h ^ (h >>> 32)) & mask;
+  }
+
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2020 SvenAugustus
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.flysium.io.tank.service.navigation;
+
+import java.util.Arrays;
+
+/**
+ * A* pathfinding on a <code>NavigationGrid</code>, the open set is a binary heap of primitive
+ * arrays, and the scores and the closed set are stamped by the search, so that they are reused
+ * without clearing.
+ *
+ * <p>The search goes from the goal to the start, and goes on until every cell of every shortest
+ * path is closed, then the path is taken from the start by the first neighbour (up, down, left,
+ * right) which is one step nearer to the goal. So the path only depends on the grid and the goal,
+ * and a path from any cell of it is the rest of it, they can be cached for each other.
+ *
+ * <p>It is not thread-safe, a thread should have it's own.
+ *
+ * @author Sven Augustus
+ * @version 1.0
+ */
+public class PathFinder {
+
+  private static final int UNREACHABLE = -1;
+
+  // distance to the goal, and the stamps of the search
+  private int[] distances = new int[0];
+  private int[] openStamps = new int[0];
+  private int[] closedStamps = new int[0];
+  private int stamp;
+
+  // open set, binary heap of cells by the estimated cost
+  private int[] heapCells = new int[64];
+  private int[] heapCosts = new int[64];
+  private int heapSize;
+
+  // the path of the last search, from the start to the goal
+  private int[] path = new int[64];
+  private int pathLength;
+
+  /**
+   * find the shortest path.
+   *
+   * @param grid  <code>NavigationGrid</code>
+   * @param start start cell, it must be walkable
+   * @param goal  goal cell, it must be walkable
+   * @return the count of cells of the path, the path can be fetched by {@link #getPath(int)}, or -1
+   * if the goal is unreachable.
+   */
+  public int find(NavigationGrid grid, int start, int goal) {
+    prepare(grid.size());
+    pathLength = 0;
+    final int columns = grid.getColumns();
+    final int startColumn = grid.column(start);
+    final int startRow = grid.row(start);
+
+    // from the goal to the start, estimated by the manhattan distance to the start
+    heapSize = 0;
+    distances[goal] = 0;
+    openStamps[goal] = stamp;
+    push(goal, Math.abs(grid.column(goal) - startColumn) + Math.abs(grid.row(goal) - startRow));
+    int best = Integer.MAX_VALUE;
+    while (heapSize > 0) {
+      final int cost = heapCosts[0];
+      final int cell = pop();
+      if (cost > best) {
+        break;
+      }
+      if (closedStamps[cell] == stamp) {
+        continue;
+      }
+      closedStamps[cell] = stamp;
+      if (cell == start) {
+        best = distances[cell];
+        continue;
+      }
+      final int column = grid.column(cell);
+      final int row = grid.row(cell);
+      final int distance = distances[cell] + 1;
+      for (int i = 0; i < 4; i++) {
+        final int neighbour = neighbour(grid, cell, column, row, i);
+        if (neighbour < 0 || !grid.isWalkable(neighbour) || closedStamps[neighbour] == stamp
+            || (openStamps[neighbour] == stamp && distances[neighbour] <= distance)) {
+          continue;
+        }
+        distances[neighbour] = distance;
+        openStamps[neighbour] = stamp;
+        push(neighbour, distance + Math.abs(grid.column(neighbour) - startColumn)
+            + Math.abs(grid.row(neighbour) - startRow));
+      }
+    }
+    if (best == Integer.MAX_VALUE) {
+      return UNREACHABLE;
+    }
+
+    // take the first neighbour which is nearer to the goal
+    if (path.length < best + 1) {
+      path = new int[Math.max(best + 1, path.length * 2)];
+    }
+    int cell = start;
+    path[pathLength++] = cell;
+    while (cell != goal) {
+      final int column = cell % columns;
+      final int row = cell / columns;
+      final int distance = distances[cell] - 1;
+      for (int i = 0; i < 4; i++) {
+        final int neighbour = neighbour(grid, cell, column, row, i);
+        if (neighbour >= 0 && closedStamps[neighbour] == stamp
+            && distances[neighbour] == distance) {
+          cell = neighbour;
+          break;
+        }
+      }
+      path[pathLength++] = cell;
+    }
+    return pathLength;
+  }
+
+  /**
+   * Get the cell of the last path.
+   *
+   * @param i the i-th cell, 0 is the start
+   * @return cell
+   */
+  public int getPath(int i) {
+    return path[i];
+  }
+
+  private static int neighbour(NavigationGrid grid, int cell, int column, int row, int i) {
+    switch (i) {
+      case 0:
+        return row > 0 ? cell - grid.getColumns() : -1;
+      case 1:
+        return row < grid.getRows() - 1 ? cell + grid.getColumns() : -1;
+      case 2:
+        return column > 0 ? cell - 1 : -1;
+      default:
+        return column < grid.getColumns() - 1 ? cell + 1 : -1;
+    }
+  }
+
+  private void prepare(int size) {
+    if (distances.length < size) {
+      distances = new int[size];
+      openStamps = new int[size];
+      closedStamps = new int[size];
+      stamp = 0;
+    }
+    if (++stamp == 0) {
+      Arrays.fill(openStamps, 0);
+      Arrays.fill(closedStamps, 0);
+      stamp = 1;
+    }
+  }
+
+  private void push(int cell, int cost) {
+    if (heapSize == heapCells.length) {
+      heapCells = Arrays.copyOf(heapCells, heapSize * 2);
+      heapCosts = Arrays.copyOf(heapCosts, heapSize * 2);
+    }
+    int i = heapSize++;
+    while (i > 0) {
+      final int parent = (i - 1) >>> 1;
+      if (heapCosts[parent] <= cost) {
+        break;
+      }
+      heapCells[i] = heapCells[parent];
+      heapCosts[i] = heapCosts[parent];
+      i = parent;
+    }
+    heapCells[i] = cell;
+    heapCosts[i] = cost;
+  }
+
+  private int pop() {
+    final int top = heapCells[0];
+    final int cell = heapCells[--heapSize];
+    final int cost = heapCosts[heapSize];
+    int i = 0;
+    while (true) {
+      int child = (i << 1) + 1;
+      if (child >= heapSize) {
+        break;
+      }
+      if (child + 1 < heapSize && heapCosts[child + 1] < heapCosts[child]) {
+        child++;
+      }
+      if (heapCosts[child] >= cost) {
+        break;
+      }
+      heapCells[i] = heapCells[child];
+      heapCosts[i] = heapCosts[child];
+      i = child;
+    }
+    heapCells[i] = cell;
+    heapCosts[i] = cost;
+    return top;
+  }
+
+}
@@ -28,6 +28,7 @@ import com.github.flysium.io.tank.model.DefaultBullet;
 import com.github.flysium.io.tank.model.DefaultExplode;
 import com.github.flysium.io.tank.model.DefaultTank;
 import com.github.flysium.io.tank.model.Explode;
+import com.github.flysium.io.tank.model.GameObject;
 import com.github.flysium.io.tank.model.Group;
 import com.github.flysium.io.tank.model.Tank;
 import com.github.flysium.io.tank.model.TankAttributes;
@@ -55,4 +56,9 @@ public class DefaultGameObjectFactory implements GameObjectFactory {
     return new DefaultBullet(owner, attributes);
   }
 
+  @Override
+  public void release(GameObject gameObject) {
+    // let GC collect it
+  }
+
 }
@@ -25,6 +25,7 @@ package com.github.flysium.io.tank.service.objectfactory;
 import com.github.flysium.io.tank.model.Bullet;
 import com.github.flysium.io.tank.model.BulletAttributes;
 import com.github.flysium.io.tank.model.Explode;
+import com.github.flysium.io.tank.model.GameObject;
 import com.github.flysium.io.tank.model.Group;
 import com.github.flysium.io.tank.model.Tank;
 import com.github.flysium.io.tank.model.TankAttributes;
@@ -65,4 +66,11 @@ public interface GameObjectFactory {
    */
   Bullet createBullet(Tank owner, BulletAttributes attributes);
 
+  /**
+   * release a dead object which has been removed from the world, it may be recycled.
+   *
+   * @param gameObject dead object
+   */
+  void release(GameObject gameObject);
+
 }
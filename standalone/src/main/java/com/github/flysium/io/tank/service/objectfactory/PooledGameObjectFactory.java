@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2020 SvenAugustus
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.flysium.io.tank.service.objectfactory;
+
+import com.github.flysium.io.tank.config.GameConfig;
+import com.github.flysium.io.tank.model.Bullet;
+import com.github.flysium.io.tank.model.BulletAttributes;
+import com.github.flysium.io.tank.model.DefaultBullet;
+import com.github.flysium.io.tank.model.DefaultExplode;
+import com.github.flysium.io.tank.model.Explode;
+import com.github.flysium.io.tank.model.GameObject;
+import com.github.flysium.io.tank.model.Tank;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pooled <code>GameObjectFactory</code>, it recycles the dead <code>Bullet</code>s and
+ * <code>Explode</code>s in bounded pools instead of allocating new ones.
+ *
+ * @author Sven Augustus
+ * @version 1.0
+ */
+public class PooledGameObjectFactory extends DefaultGameObjectFactory implements
+    GameObjectFactory {
+
+  private final BlockingQueue<Bullet> bulletPool;
+  private final BlockingQueue<Explode> explodePool;
+
+  private final LongAdder bulletHits = new LongAdder();
+  private final LongAdder bulletMisses = new LongAdder();
+  private final LongAdder explodeHits = new LongAdder();
+  private final LongAdder explodeMisses = new LongAdder();
+
+  public PooledGameObjectFactory() {
+    this(GameConfig.getSingleton().getBulletPoolSize(),
+        GameConfig.getSingleton().getExplodePoolSize());
+  }
+
+  public PooledGameObjectFactory(int bulletPoolSize, int explodePoolSize) {
+    this.bulletPool = new ArrayBlockingQueue<>(bulletPoolSize);
+    this.explodePool = new ArrayBlockingQueue<>(explodePoolSize);
+  }
+
+  @Override
+  public Explode createExplode(Tank owner) {
+    Explode explode = explodePool.poll();
+    if (explode == null) {
+      explodeMisses.increment();
+      return super.createExplode(owner);
+    }
+    explodeHits.increment();
+    explode.reset(owner);
+    return explode;
+  }
+
+  @Override
+  public Bullet createBullet(Tank owner, BulletAttributes attributes) {
+    Bullet bullet = bulletPool.poll();
+    if (bullet == null) {
+      bulletMisses.increment();
+      return super.createBullet(owner, attributes);
+    }
+    bulletHits.increment();
+    bullet.reset(owner, attributes);
+    return bullet;
+  }
+
+  @Override
+  public void release(GameObject gameObject) {
+    // only recycle the objects created by this factory, drop them if the pool is full
+    if (gameObject.getClass() == DefaultBullet.class) {
+      bulletPool.offer((Bullet) gameObject);
+    } else if (gameObject.getClass() == DefaultExplode.class) {
+      explodePool.offer((Explode) gameObject);
+    }
+  }
+
+  public long getBulletHits() {
+    return bulletHits.sum();
+  }
+
+  public long getBulletMisses() {
+    return bulletMisses.sum();
+  }
+
+  public long getExplodeHits() {
+    return explodeHits.sum();
+  }
+
+  public long getExplodeMisses() {
+    return explodeMisses.sum();
+  }
+
+  @Override
+  public String toString() {
+    return "bullet pool hits: " + getBulletHits() + ", misses: " + getBulletMisses()
+        + ", explode pool hits: " + getExplodeHits() + ", misses: " + getExplodeMisses();
+  }
+
+}
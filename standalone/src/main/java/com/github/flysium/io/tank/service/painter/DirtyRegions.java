@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2020 SvenAugustus
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.flysium.io.tank.service.painter;
+
+import java.awt.Rectangle;
+
+/**
+ * Dirty regions of a frame, which should be painted again. Overlapping regions are merged, and
+ * when there are too many regions, the whole frame is dirty.
+ *
+ * <p>It is not thread-safe, it should be used by the thread which paints.
+ *
+ * @author Sven Augustus
+ * @version 1.0
+ */
+public class DirtyRegions {
+
+  private final Rectangle[] regions;
+  private int count;
+  private boolean full;
+
+  // region being merged
+  private final Rectangle merging = new Rectangle();
+
+  public DirtyRegions(int maxRegions) {
+    if (maxRegions <= 0) {
+      throw new IllegalArgumentException("maxRegions must be positive: " + maxRegions);
+    }
+    this.regions = new Rectangle[maxRegions];
+    for (int i = 0; i < maxRegions; i++) {
+      regions[i] = new Rectangle();
+    }
+  }
+
+  /**
+   * remove all regions, prepare for the next frame.
+   */
+  public void clear() {
+    count = 0;
+    full = false;
+  }
+
+  /**
+   * mark the whole frame as dirty.
+   */
+  public void markFull() {
+    full = true;
+    count = 0;
+  }
+
+  /**
+   * weather the whole frame is dirty or not.
+   *
+   * @return return true if the whole frame is dirty, otherwise return false.
+   */
+  public boolean isFull() {
+    return full;
+  }
+
+  /**
+   * Get the count of regions, it's zero if the whole frame is dirty.
+   *
+   * @return count
+   */
+  public int size() {
+    return count;
+  }
+
+  /**
+   * Get the region.
+   *
+   * @param i the i-th region
+   * @return region
+   */
+  public Rectangle get(int i) {
+    return regions[i];
+  }
+
+  /**
+   * add a dirty region, which is merged with the overlapping regions.
+   *
+   * @param x      the X coordinate of the region
+   * @param y      the Y coordinate of the region
+   * @param width  the width of the region
+   * @param height the height of the region
+   */
+  public void add(int x, int y, int width, int height) {
+    if (full || width <= 0 || height <= 0) {
+      return;
+    }
+    merging.setBounds(x, y, width, height);
+    int i = 0;
+    while (i < count) {
+      final Rectangle region = regions[i];
+      if (region.x <= merging.x + merging.width && merging.x <= region.x + region.width
+          && region.y <= merging.y + merging.height && merging.y <= region.y + region.height) {
+        // merge, then check the others again since the union may overlap them
+        merging.add(region);
+        count--;
+        regions[i] = regions[count];
+        regions[count] = region;
+        i = 0;
+      } else {
+        i++;
+      }
+    }
+    if (count == regions.length) {
+      markFull();
+      return;
+    }
+    regions[count++].setBounds(merging);
+  }
+
+  /**
+   * add all regions of the other.
+   *
+   * @param other the other <code>DirtyRegions</code>
+   */
+  public void addAll(DirtyRegions other) {
+    if (other.full) {
+      markFull();
+      return;
+    }
+    for (int i = 0; i < other.count; i++) {
+      final Rectangle region = other.regions[i];
+      add(region.x, region.y, region.width, region.height);
+    }
+  }
+
+}
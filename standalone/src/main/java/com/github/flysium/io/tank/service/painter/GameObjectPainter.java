@@ -45,6 +45,26 @@ public interface GameObjectPainter {
    */
   void paint(Graphics g, Color color, String message);
 
+  /**
+   * paint the counts of walls, tanks and bullets
+   *
+   * @param g       <code>Graphics</code>
+   * @param color   <code>Color</code>
+   * @param walls   count of walls
+   * @param tanks   count of tanks
+   * @param bullets count of bullets
+   */
+  void paintCounts(Graphics g, Color color, int walls, int tanks, int bullets);
+
+  /**
+   * paint the background, which is painted before any <code>GameObject</code>
+   *
+   * @param g      <code>Graphics</code>
+   * @param width  width of the background
+   * @param height height of the background
+   */
+  void paintBackground(Graphics g, int width, int height);
+
   /**
    * paint GameObject
    *
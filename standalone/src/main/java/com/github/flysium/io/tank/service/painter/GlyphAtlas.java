@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2020 SvenAugustus
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.flysium.io.tank.service.painter;
+
+import com.github.flysium.io.tank.view.utils.ImageUtils;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Pre-rendered glyphs of the printable ASCII characters in a color. The labels (texts and small
+ * integers) are composed from the glyphs once and cached, so that drawing a label is a single
+ * blit, and it's rendered again only when the text is changed.
+ *
+ * <p>Only a few recent texts are cached, so the texts should rarely change. A text with numbers
+ * which change often should be drawn from fixed labels and <code>drawInt</code>, both return
+ * where the next one goes.
+ *
+ * <p>Any text with the other characters falls back to <code>Graphics.drawString</code>.
+ *
+ * <p>It is not thread-safe, it should be used by the thread which paints.
+ *
+ * @author Sven Augustus
+ * @version 1.0
+ */
+public class GlyphAtlas {
+
+  private static final char FIRST = ' ';
+  private static final char LAST = '~';
+  // glyphs may overhang their advance a little
+  private static final int OVERHANG = 2;
+  // integers in [0, MAX_CACHED_INT) are cached
+  private static final int MAX_CACHED_INT = 1024;
+  // max cached texts
+  private static final int MAX_CACHED_TEXTS = 16;
+
+  private final Font font;
+  private final Color color;
+  private final BufferedImage glyphs;
+  private final int[] cellX = new int[LAST - FIRST + 1];
+  private final int[] advance = new int[LAST - FIRST + 1];
+  private final int ascent;
+  private final int height;
+
+  // cached labels
+  private final BufferedImage[] intLabels = new BufferedImage[MAX_CACHED_INT];
+  private final Map<String, BufferedImage> textLabels = new LinkedHashMap<String, BufferedImage>(
+      MAX_CACHED_TEXTS * 2, 0.75f, true) {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, BufferedImage> eldest) {
+      return size() > MAX_CACHED_TEXTS;
+    }
+  };
+  private final char[] digits = new char[11];
+
+  /**
+   * pre-render the glyphs.
+   *
+   * @param font  <code>Font</code>, or null to use the default font of <code>Graphics</code>
+   * @param color <code>Color</code>
+   */
+  public GlyphAtlas(Font font, Color color) {
+    // measure
+    BufferedImage scratch = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+    Graphics2D measure = scratch.createGraphics();
+    this.font = font != null ? font : measure.getFont();
+    this.color = color;
+    FontMetrics metrics = measure.getFontMetrics(this.font);
+    measure.dispose();
+    this.ascent = metrics.getAscent();
+    this.height = Math.max(1, metrics.getAscent() + metrics.getDescent());
+    int width = 0;
+    for (char c = FIRST; c <= LAST; c++) {
+      cellX[c - FIRST] = width;
+      advance[c - FIRST] = metrics.charWidth(c);
+      width += advance[c - FIRST] + OVERHANG;
+    }
+
+    // render
+    this.glyphs = new BufferedImage(Math.max(1, width), height, BufferedImage.TYPE_INT_ARGB);
+    Graphics2D g = glyphs.createGraphics();
+    g.setFont(this.font);
+    g.setColor(color);
+    char[] glyph = new char[1];
+    for (char c = FIRST; c <= LAST; c++) {
+      glyph[0] = c;
+      g.drawChars(glyph, 0, 1, cellX[c - FIRST], ascent);
+    }
+    g.dispose();
+  }
+
+  /**
+   * draw a text, same as <code>Graphics.drawString</code>.
+   *
+   * @param g    <code>Graphics</code>
+   * @param text text
+   * @param x    the X coordinate
+   * @param y    the Y coordinate of the baseline
+   * @return the X coordinate after the text
+   */
+  public int drawString(Graphics g, String text, int x, int y) {
+    BufferedImage label = textLabels.get(text);
+    if (label == null) {
+      for (int i = 0; i < text.length(); i++) {
+        final char c = text.charAt(i);
+        if (c < FIRST || c > LAST) {
+          return drawFallback(g, text, x, y);
+        }
+      }
+      char[] chars = text.toCharArray();
+      label = compose(chars, 0, chars.length);
+      textLabels.put(text, label);
+    }
+    g.drawImage(label, x, y - ascent, null);
+    return x + label.getWidth() - OVERHANG;
+  }
+
+  /**
+   * draw an integer, same as <code>Graphics.drawString("" + value, x, y)</code>.
+   *
+   * @param g     <code>Graphics</code>
+   * @param value integer
+   * @param x     the X coordinate
+   * @param y     the Y coordinate of the baseline
+   * @return the X coordinate after the integer
+   */
+  public int drawInt(Graphics g, int value, int x, int y) {
+    if (value >= 0 && value < MAX_CACHED_INT) {
+      BufferedImage label = intLabels[value];
+      if (label == null) {
+        final int offset = toChars(value);
+        label = intLabels[value] = compose(digits, offset, digits.length - offset);
+      }
+      g.drawImage(label, x, y - ascent, null);
+      return x + label.getWidth() - OVERHANG;
+    }
+    // blit digit by digit
+    final int offset = toChars(value);
+    for (int i = offset; i < digits.length; i++) {
+      x = drawChar(g, digits[i], x, y);
+    }
+    return x;
+  }
+
+  /**
+   * write the decimal digits of the value to the end of <code>digits</code>.
+   *
+   * @return offset of the first digit
+   */
+  private int toChars(int value) {
+    long v = value;
+    final boolean negative = v < 0;
+    if (negative) {
+      v = -v;
+    }
+    int offset = digits.length;
+    do {
+      digits[--offset] = (char) ('0' + v % 10);
+      v /= 10;
+    } while (v > 0);
+    if (negative) {
+      digits[--offset] = '-';
+    }
+    return offset;
+  }
+
+  /**
+   * compose a label from the glyphs.
+   */
+  private BufferedImage compose(char[] chars, int offset, int length) {
+    int width = OVERHANG;
+    for (int i = offset; i < offset + length; i++) {
+      width += advance[chars[i] - FIRST];
+    }
+    BufferedImage label = ImageUtils.createCompatibleImage(width, height,
+        Transparency.TRANSLUCENT);
+    Graphics2D g = label.createGraphics();
+    int x = 0;
+    for (int i = offset; i < offset + length; i++) {
+      x = drawChar(g, chars[i], x, ascent);
+    }
+    g.dispose();
+    return label;
+  }
+
+  private int drawChar(Graphics g, char c, int x, int y) {
+    final int i = c - FIRST;
+    final int w = advance[i] + OVERHANG;
+    final int top = y - ascent;
+    g.drawImage(glyphs, x, top, x + w, top + height, cellX[i], 0, cellX[i] + w, height, null);
+    return x + advance[i];
+  }
+
+  private int drawFallback(Graphics g, String text, int x, int y) {
+    Font f = g.getFont();
+    Color c = g.getColor();
+    g.setFont(font);
+    g.setColor(color);
+    g.drawString(text, x, y);
+    final int width = g.getFontMetrics().stringWidth(text);
+    g.setFont(f);
+    g.setColor(c);
+    return x + width;
+  }
+
+}
@@ -23,6 +23,7 @@
 package com.github.flysium.io.tank.service.painter;
 
 import com.github.flysium.io.tank.config.ResourceManager;
+import com.github.flysium.io.tank.config.SpriteAtlas;
 import com.github.flysium.io.tank.model.Bullet;
 import com.github.flysium.io.tank.model.DirectionRectangularShape;
 import com.github.flysium.io.tank.model.Explode;
@@ -31,11 +32,10 @@ import com.github.flysium.io.tank.model.Tank;
 import java.awt.Color;
 import java.awt.Graphics;
 import java.awt.Rectangle;
-import java.awt.image.BufferedImage;
-import java.util.List;
 
 /**
- * Graphical <code>GameObjectPainter</code>
+ * Graphical <code>GameObjectPainter</code>, all frames are drawn from the <code>SpriteAtlas</code>
+ * of the <code>ResourceManager</code>.
  *
  * @author Sven Augustus
  * @version 1.0
@@ -44,25 +44,26 @@ public class GraphicalGameObjectPainter extends SimpleGameObjectPainter implemen
     GameObjectPainter {
 
   private final ResourceManager resourceManager = ResourceManager.getSingleton();
+  private final SpriteAtlas spriteAtlas = resourceManager.getSpriteAtlas();
 
   @Override
   protected void paint(Graphics g, Tank tank) {
     if (!tank.isAlive()) {
       return;
     }
-    BufferedImage image = Group.MAIN_GROUP.equals(tank.getGroup()) ?
-        resourceManager.getMainTankImage().get(tank.getDirection()) :
-        resourceManager.getEnemyTankImage().get(tank.getDirection());
-    if (image == null) {
+    int frame = Group.MAIN_GROUP.equals(tank.getGroup()) ?
+        resourceManager.getMainTankFrame(tank.getDirection()) :
+        resourceManager.getEnemyTankFrame(tank.getDirection());
+    if (frame < 0) {
       return;
     }
     Color c = g.getColor();
     // draw the tank
     Rectangle location = tank.getLocation();
-    g.drawImage(image, location.x, location.y, null);
+    spriteAtlas.draw(g, frame, location.x, location.y);
 
-    g.setColor(Color.gray);
-    g.drawString("" + tank.getHealthValue(), location.x + location.width * 3 / 10, location.y);
+    getGlyphAtlas(Color.gray).drawInt(g, tank.getHealthValue(),
+        location.x + location.width * 3 / 10, location.y);
 
     // reset Graphics's color
     g.setColor(c);
@@ -73,24 +74,17 @@ public class GraphicalGameObjectPainter extends SimpleGameObjectPainter implemen
     if (!explode.isAlive()) {
       return;
     }
-    List<BufferedImage> bufferedImages = resourceManager.getExplodeImage();
-    int currentStep = explode.next();
-    if (currentStep >= bufferedImages.size()) {
-      explode.die();
-      return;
-    }
-    if (currentStep < 0) {
-      return;
-    }
-    BufferedImage image = bufferedImages.get(currentStep);
-    if (image == null) {
+    int frameCount = resourceManager.getExplodeFrameCount();
+    int currentStep = explode.getStep();
+    if (currentStep < 0 || currentStep >= Explode.STEPS || frameCount == 0) {
       return;
     }
+    int frame = resourceManager.getExplodeFrame(currentStep * frameCount / Explode.STEPS);
     Color c = g.getColor();
     g.setColor(Color.RED);
     // draw the tank
     Rectangle location = explode.getLocation();
-    g.drawImage(image, location.x, location.y, null);
+    spriteAtlas.draw(g, frame, location.x, location.y);
     // reset Graphics's color
     g.setColor(c);
   }
@@ -100,17 +94,16 @@ public class GraphicalGameObjectPainter extends SimpleGameObjectPainter implemen
     if (!bullet.isAlive()) {
       return;
     }
-    BufferedImage image = resourceManager.getBulletImage().get(bullet.getDirection());
-    if (image == null) {
+    int frame = resourceManager.getBulletFrame(bullet.getDirection());
+    if (frame < 0) {
       return;
     }
-    bullet.fly();
 
     Color c = g.getColor();
     g.setColor(Color.RED);
     // draw the tank
     Rectangle location = bullet.getLocation();
-    g.drawImage(image, location.x, location.y, null);
+    spriteAtlas.draw(g, frame, location.x, location.y);
     // reset Graphics's color
     g.setColor(c);
   }
@@ -32,6 +32,8 @@ import com.github.flysium.io.tank.model.Wall;
 import java.awt.Color;
 import java.awt.Graphics;
 import java.awt.Rectangle;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Simple <code>GameObjectPainter</code>
@@ -41,11 +43,40 @@ import java.awt.Rectangle;
  */
 public class SimpleGameObjectPainter implements GameObjectPainter {
 
+  // pre-rendered glyphs by color
+  private final Map<Color, GlyphAtlas> glyphAtlases = new ConcurrentHashMap<>(8);
+
+  /**
+   * Get the pre-rendered glyphs in the color.
+   *
+   * @param color <code>Color</code>
+   * @return <code>GlyphAtlas</code>
+   */
+  protected GlyphAtlas getGlyphAtlas(Color color) {
+    return glyphAtlases.computeIfAbsent(color, c -> new GlyphAtlas(null, c));
+  }
+
   @Override
   public void paint(Graphics g, Color color, String message) {
+    getGlyphAtlas(color).drawString(g, message, 10, 40);
+  }
+
+  @Override
+  public void paintCounts(Graphics g, Color color, int walls, int tanks, int bullets) {
+    final GlyphAtlas glyphAtlas = getGlyphAtlas(color);
+    int x = glyphAtlas.drawString(g, "Walls: ", 10, 40);
+    x = glyphAtlas.drawInt(g, walls, x, 40);
+    x = glyphAtlas.drawString(g, ", Tanks: ", x, 40);
+    x = glyphAtlas.drawInt(g, tanks, x, 40);
+    x = glyphAtlas.drawString(g, ", Bullets: ", x, 40);
+    glyphAtlas.drawInt(g, bullets, x, 40);
+  }
+
+  @Override
+  public void paintBackground(Graphics g, int width, int height) {
     Color c = g.getColor();
-    g.setColor(color);
-    g.drawString(message, 10, 40);
+    g.setColor(Color.WHITE);
+    g.fillRect(0, 0, width, height);
     // reset Graphics's color
     g.setColor(c);
   }
@@ -76,9 +107,8 @@ public class SimpleGameObjectPainter implements GameObjectPainter {
     Rectangle location = tank.getLocation();
     g.fillRect(location.x, location.y, location.width, location.height);
 
-    g.setColor(Color.GREEN);
-    g.drawString("" + tank.getHealthValue(), location.x + location.width * 4 / 10,
-        location.y + location.height / 2);
+    getGlyphAtlas(Color.GREEN).drawInt(g, tank.getHealthValue(),
+        location.x + location.width * 4 / 10, location.y + location.height / 2);
 
     // reset Graphics's color
     g.setColor(c);
@@ -92,8 +122,6 @@ public class SimpleGameObjectPainter implements GameObjectPainter {
     if (!bullet.isAlive()) {
       return;
     }
-    bullet.fly();
-
     Color c = g.getColor();
     g.setColor(Color.RED);
     // draw the tank
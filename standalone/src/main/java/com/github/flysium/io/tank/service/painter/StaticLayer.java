@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2020 SvenAugustus
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.flysium.io.tank.service.painter;
+
+import com.github.flysium.io.tank.model.GameObject;
+import com.github.flysium.io.tank.model.Wall;
+import com.github.flysium.io.tank.view.utils.ImageUtils;
+import java.awt.Graphics;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+
+/**
+ * Cached static layer, the background and the <code>Wall</code>s are painted once into an
+ * offscreen image, which is drawn as a whole every frame. It's painted again only when the walls
+ * are changed, which is told by a version.
+ *
+ * <p>It is not thread-safe, it should be used by the thread which paints.
+ *
+ * @author Sven Augustus
+ * @version 1.0
+ */
+public class StaticLayer {
+
+  private final GameObjectPainter painter;
+  private final int width;
+  private final int height;
+
+  private BufferedImage image;
+  private int version;
+
+  public StaticLayer(GameObjectPainter painter, int width, int height) {
+    this.painter = painter;
+    this.width = width;
+    this.height = height;
+  }
+
+  /**
+   * Determines whether the <code>GameObject</code> is painted by the static layer.
+   *
+   * @param gameObject <code>GameObject</code>
+   * @return return true if it's static, otherwise return false.
+   */
+  public boolean isStatic(GameObject gameObject) {
+    return gameObject instanceof Wall;
+  }
+
+  /**
+   * paint the static layer, paint it again if the walls are changed.
+   *
+   * @param g           <code>Graphics</code>
+   * @param version     version of the walls
+   * @param gameObjects all <code>GameObject</code>s
+   */
+  public void paint(Graphics g, int version, Iterable<GameObject> gameObjects) {
+    if (image == null || this.version != version) {
+      rebuild(version, gameObjects);
+    }
+    g.drawImage(image, 0, 0, null);
+  }
+
+  /**
+   * discard the cache, it's painted again by the next frame.
+   */
+  public void invalidate() {
+    image = null;
+  }
+
+  private void rebuild(int version, Iterable<GameObject> gameObjects) {
+    if (image == null) {
+      image = ImageUtils.createCompatibleImage(width, height, Transparency.OPAQUE);
+    }
+    Graphics g = image.createGraphics();
+    try {
+      painter.paintBackground(g, width, height);
+      for (GameObject gameObject : gameObjects) {
+        if (gameObject.isAlive() && isStatic(gameObject)) {
+          painter.paint(g, gameObject);
+        }
+      }
+    } finally {
+      g.dispose();
+    }
+    this.version = version;
+  }
+
+}
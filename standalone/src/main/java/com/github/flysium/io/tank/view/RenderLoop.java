@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2020 SvenAugustus
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.flysium.io.tank.view;
+
+import com.github.flysium.io.tank.config.utils.LogUtils;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Active rendering loop, it renders the <code>TankFrame</code> at a constant rate by the render
+ * thread, and reports the frame rate it achieves every second.
+ *
+ * <p>A frame which is late is never rendered twice to catch up, the next frame is scheduled from
+ * now on.
+ *
+ * @author Sven Augustus
+ * @version 1.0
+ */
+public class RenderLoop implements Runnable {
+
+  private static final long REPORT_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+  private final TankFrame tankFrame;
+
+  private final long frameNanos;
+
+  private volatile double framesPerSecond;
+
+  public RenderLoop(TankFrame tankFrame, int frameMillis) {
+    this.tankFrame = tankFrame;
+    this.frameNanos = TimeUnit.MILLISECONDS.toNanos(frameMillis);
+  }
+
+  /**
+   * Get the frame rate achieved in the last second.
+   *
+   * @return frames per second
+   */
+  public double getFramesPerSecond() {
+    return framesPerSecond;
+  }
+
+  @Override
+  public void run() {
+    long nextFrame = System.nanoTime();
+    long lastReport = nextFrame;
+    int frames = 0;
+    while (!Thread.currentThread().isInterrupted()) {
+      try {
+        tankFrame.render();
+      } catch (RuntimeException e) {
+        LogUtils.error(e, "render failed");
+      }
+      frames++;
+
+      final long now = System.nanoTime();
+      if (now - lastReport >= REPORT_NANOS) {
+        framesPerSecond = frames * 1e9 / (now - lastReport);
+        tankFrame.showFramesPerSecond(framesPerSecond);
+        lastReport = now;
+        frames = 0;
+      }
+      nextFrame += frameNanos;
+      if (now - nextFrame >= 0) {
+        // late, skip the missed frames
+        nextFrame = now + frameNanos;
+      }
+      LockSupport.parkNanos(nextFrame - System.nanoTime());
+    }
+  }
+
+}
@@ -26,19 +26,32 @@ import com.github.flysium.io.tank.Main;
 import com.github.flysium.io.tank.model.Direction;
 import com.github.flysium.io.tank.service.GameService;
 import com.github.flysium.io.tank.service.GameServiceImpl;
+import com.github.flysium.io.tank.service.painter.DirtyRegions;
+import java.awt.Canvas;
 import java.awt.Color;
 import java.awt.Graphics;
 import java.awt.HeadlessException;
+import java.awt.Insets;
+import java.awt.Rectangle;
+import java.awt.Toolkit;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
+import java.awt.image.BufferStrategy;
 import java.awt.image.BufferedImage;
 import javax.swing.JFrame;
+import javax.swing.SwingUtilities;
 
 /**
  * Game View of Tank War
  *
+ * <p>In the passive mode, it's painted by <code>repaint()</code> through a buffer image. In the
+ * active mode, it's rendered by {@link #render()} on a page-flipping <code>BufferStrategy</code> of
+ * a canvas, which is driven by the render thread, and Swing never paints it. In the dirty mode, only
+ * the regions which are changed are painted to the buffer image and to the screen by the render
+ * thread, and Swing only shows the buffer image.
+ *
  * @author Sven Augustus
  * @version 1.0
  */
@@ -46,10 +59,20 @@ public class TankFrame extends JFrame {
 
   private final int WINDOW_WIDTH = Main.FINAL_RECTANGLE.width;
   private final int WINDOW_HEIGHT = Main.FINAL_RECTANGLE.height;
+  private static final String TITLE = "The War of Tank";
   private final GameService gameService = new GameServiceImpl();
 
+  // canvas of the active mode
+  private final Canvas canvas;
+  // dirty mode, it's ignored in the active mode
+  private final boolean dirtyRendering;
+
   public TankFrame() throws HeadlessException {
-    this.setTitle("The War of Tank");
+    this(false, false);
+  }
+
+  public TankFrame(boolean activeRendering, boolean dirtyRendering) throws HeadlessException {
+    this.setTitle(TITLE);
     this.setBounds(200, 200, WINDOW_WIDTH, WINDOW_HEIGHT);
     this.setResizable(false);
 
@@ -62,27 +85,134 @@ public class TankFrame extends JFrame {
     });
 
     // add Key listener
-    this.addKeyListener(new MyKeyListener());
+    MyKeyListener keyListener = new MyKeyListener();
+    this.addKeyListener(keyListener);
+
+    if (activeRendering) {
+      this.setIgnoreRepaint(true);
+      canvas = new Canvas();
+      canvas.setIgnoreRepaint(true);
+      canvas.addKeyListener(keyListener);
+      this.getContentPane().add(canvas);
+    } else {
+      canvas = null;
+    }
+    this.dirtyRendering = !activeRendering && dirtyRendering;
   }
 
+  /**
+   * render a frame by the render thread, active mode or dirty mode only.
+   */
+  public void render() {
+    if (canvas != null) {
+      renderBufferStrategy();
+    } else if (dirtyRendering) {
+      renderDirty();
+    }
+  }
+
+  /**
+   * render a frame on the page-flipping <code>BufferStrategy</code>. The
+   * <code>GameObject</code>s are located in the coordinates of the window, same as the passive
+   * mode.
+   */
+  private void renderBufferStrategy() {
+    if (!canvas.isDisplayable()) {
+      return;
+    }
+    BufferStrategy strategy = canvas.getBufferStrategy();
+    if (strategy == null) {
+      canvas.createBufferStrategy(2);
+      canvas.requestFocus();
+      strategy = canvas.getBufferStrategy();
+    }
+    final Insets insets = getInsets();
+    do {
+      do {
+        Graphics g = strategy.getDrawGraphics();
+        try {
+          g.translate(-insets.left, -insets.top);
+          g.setColor(Color.WHITE);
+          gameService.paint(g);
+        } finally {
+          g.dispose();
+        }
+      } while (strategy.contentsRestored());
+      strategy.show();
+    } while (strategy.contentsLost());
+    Toolkit.getDefaultToolkit().sync();
+  }
+
+  /**
+   * render the dirty regions to the buffer image, then show them on the screen.
+   */
+  private void renderDirty() {
+    Graphics g = getGraphics();
+    if (g == null) {
+      return;
+    }
+    try {
+      synchronized (imageLock) {
+        ensureImage();
+        imageGraphics.setColor(Color.WHITE);
+        DirtyRegions regions = gameService.paintDirty(imageGraphics);
+        if (regions.isFull()) {
+          g.drawImage(image, 0, 0, null);
+        } else {
+          for (int i = 0; i < regions.size(); i++) {
+            final Rectangle r = regions.get(i);
+            g.drawImage(image, r.x, r.y, r.x + r.width, r.y + r.height,
+                r.x, r.y, r.x + r.width, r.y + r.height, null);
+          }
+        }
+      }
+    } finally {
+      g.dispose();
+    }
+    Toolkit.getDefaultToolkit().sync();
+  }
+
+  /**
+   * show the frame rate achieved by the render thread.
+   *
+   * @param framesPerSecond frames per second
+   */
+  public void showFramesPerSecond(double framesPerSecond) {
+    final String title = String.format("%s (%.1f fps)", TITLE, framesPerSecond);
+    SwingUtilities.invokeLater(() -> setTitle(title));
+  }
+
+  private final Object imageLock = new Object();
   private BufferedImage image;
   private Graphics imageGraphics;
 
-  @Override
-  public void paint(Graphics g) {
-    // buffer for swing, fix the twinkle.
+  private void ensureImage() {
     if (image == null) {
       image = new BufferedImage(WINDOW_WIDTH, WINDOW_HEIGHT, BufferedImage.TYPE_INT_RGB);
       imageGraphics = image.createGraphics();
     }
-    imageGraphics.fillRect(0, 0, WINDOW_WIDTH, WINDOW_HEIGHT);
-    imageGraphics.setColor(Color.WHITE);
+  }
 
-    // draw to buffer
-    gameService.paint(imageGraphics);
+  @Override
+  public void paint(Graphics g) {
+    if (canvas != null) {
+      // active mode, the canvas is rendered by the render thread
+      super.paint(g);
+      return;
+    }
+    synchronized (imageLock) {
+      // buffer for swing, fix the twinkle.
+      ensureImage();
+      if (!dirtyRendering) {
+        imageGraphics.setColor(Color.WHITE);
 
-    // output buffer to screen
-    g.drawImage(image, 0, 0, null);
+        // draw to buffer, the background is painted by the game
+        gameService.paint(imageGraphics);
+      }
+
+      // output buffer to screen
+      g.drawImage(image, 0, 0, null);
+    }
   }
 
   public void automatic() {
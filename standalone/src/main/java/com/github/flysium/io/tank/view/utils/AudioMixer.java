@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2020 SvenAugustus
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.flysium.io.tank.view.utils;
+
+import com.github.flysium.io.tank.config.utils.LogUtils;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.SourceDataLine;
+
+/**
+ * Software mixer which owns one output line, and mixes a fixed number of voices into it.
+ *
+ * <p>Triggering a clip is a lock-free enqueue which never blocks the caller, the mixer thread
+ * takes the triggers before mixing each block. If all voices are busy, the voice which has played
+ * the longest is stolen; if too many triggers are pending or there is no audio line, the trigger is
+ * dropped.
+ *
+ * @author Sven Augustus
+ * @version 1.0
+ */
+public final class AudioMixer {
+
+  public static final int SAMPLE_RATE = 44100;
+
+  // 16-bit signed stereo, little-endian
+  public static final AudioFormat FORMAT = new AudioFormat(SAMPLE_RATE, 16, 2, true, false);
+
+  // frames mixed per block, about 12ms
+  private static final int BLOCK_FRAMES = 512;
+
+  // blocks buffered by the output line
+  private static final int LINE_BLOCKS = 4;
+
+  private static final int MAX_PENDING = 64;
+
+  // voices
+  private final PcmClip[] voiceClips;
+  private final int[] voicePositions;
+  private final boolean[] voiceChannels;
+
+  // triggers
+  private final Queue<PcmClip> triggers = new ConcurrentLinkedQueue<>();
+  private final Queue<PcmClip> channelTriggers = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger pending = new AtomicInteger();
+
+  private final int[] mixBuffer = new int[BLOCK_FRAMES * 2];
+  private final byte[] outputBuffer = new byte[BLOCK_FRAMES * 4];
+
+  private final Thread thread;
+  private volatile boolean closed;
+
+  public AudioMixer(int voices) {
+    if (voices <= 0) {
+      throw new IllegalArgumentException("voices must be positive: " + voices);
+    }
+    this.voiceClips = new PcmClip[voices];
+    this.voicePositions = new int[voices];
+    this.voiceChannels = new boolean[voices];
+    this.thread = new Thread(this::run, "audio-mixer");
+    this.thread.setDaemon(true);
+  }
+
+  /**
+   * start the mixer thread, which opens the output line.
+   */
+  public void start() {
+    thread.start();
+  }
+
+  /**
+   * Get the count of voices.
+   *
+   * @return count of voices
+   */
+  public int getVoices() {
+    return voiceClips.length;
+  }
+
+  /**
+   * play a clip, never blocks.
+   *
+   * @param clip <code>PcmClip</code>
+   * @return return true if it's enqueued, otherwise return false.
+   */
+  public boolean play(PcmClip clip) {
+    return enqueue(triggers, clip);
+  }
+
+  /**
+   * play a clip on it's channel, never blocks. It's skipped if the clip is still playing.
+   *
+   * @param clip <code>PcmClip</code>
+   * @return return true if it's enqueued, otherwise return false.
+   */
+  public boolean playChannel(PcmClip clip) {
+    if (!clip.acquireChannel()) {
+      return false;
+    }
+    if (!enqueue(channelTriggers, clip)) {
+      clip.releaseChannel();
+      return false;
+    }
+    return true;
+  }
+
+  private boolean enqueue(Queue<PcmClip> queue, PcmClip clip) {
+    if (closed) {
+      return false;
+    }
+    if (pending.incrementAndGet() > MAX_PENDING) {
+      pending.decrementAndGet();
+      return false;
+    }
+    queue.offer(clip);
+    LockSupport.unpark(thread);
+    return true;
+  }
+
+  private void run() {
+    SourceDataLine line;
+    try {
+      line = AudioSystem.getSourceDataLine(FORMAT);
+      line.open(FORMAT, outputBuffer.length * LINE_BLOCKS);
+      line.start();
+    } catch (LineUnavailableException | IllegalArgumentException | SecurityException e) {
+      close();
+      LogUtils.warn("no audio line, sound is disabled: %s", e.getMessage());
+      return;
+    }
+    while (!closed) {
+      takeTriggers();
+      if (!hasActiveVoice()) {
+        LockSupport.park(this);
+        continue;
+      }
+      final int bytes = mix(outputBuffer, BLOCK_FRAMES);
+      line.write(outputBuffer, 0, bytes);
+    }
+    line.close();
+  }
+
+  /**
+   * stop the mixer, and drop all triggers.
+   */
+  public void close() {
+    closed = true;
+    LockSupport.unpark(thread);
+    PcmClip clip;
+    while ((clip = channelTriggers.poll()) != null) {
+      clip.releaseChannel();
+    }
+    triggers.clear();
+  }
+
+  private void takeTriggers() {
+    PcmClip clip;
+    while ((clip = channelTriggers.poll()) != null) {
+      pending.decrementAndGet();
+      startVoice(clip, true);
+    }
+    while ((clip = triggers.poll()) != null) {
+      pending.decrementAndGet();
+      startVoice(clip, false);
+    }
+  }
+
+  private void startVoice(PcmClip clip, boolean channel) {
+    int voice = -1;
+    for (int i = 0; i < voiceClips.length; i++) {
+      if (voiceClips[i] == null) {
+        voice = i;
+        break;
+      }
+      if (voice < 0 || voicePositions[i] > voicePositions[voice]) {
+        voice = i;
+      }
+    }
+    stopVoice(voice);
+    voiceClips[voice] = clip;
+    voicePositions[voice] = 0;
+    voiceChannels[voice] = channel;
+  }
+
+  private void stopVoice(int voice) {
+    if (voiceClips[voice] != null && voiceChannels[voice]) {
+      voiceClips[voice].releaseChannel();
+    }
+    voiceClips[voice] = null;
+  }
+
+  private boolean hasActiveVoice() {
+    for (PcmClip clip : voiceClips) {
+      if (clip != null) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * mix the active voices into the output buffer, in the format of the mixer.
+   *
+   * @return count of bytes
+   */
+  int mix(byte[] output, int frames) {
+    final int samples = frames * 2;
+    final int[] sum = mixBuffer;
+    for (int i = 0; i < samples; i++) {
+      sum[i] = 0;
+    }
+    for (int voice = 0; voice < voiceClips.length; voice++) {
+      final PcmClip clip = voiceClips[voice];
+      if (clip == null) {
+        continue;
+      }
+      final int position = voicePositions[voice];
+      final int count = Math.min(samples, clip.getFrames() * 2 - position);
+      for (int i = 0; i < count; i++) {
+        sum[i] += clip.getSample(position + i);
+      }
+      voicePositions[voice] = position + count;
+      if (voicePositions[voice] >= clip.getFrames() * 2) {
+        stopVoice(voice);
+      }
+    }
+    for (int i = 0; i < samples; i++) {
+      final int sample = Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, sum[i]));
+      output[i * 2] = (byte) sample;
+      output[i * 2 + 1] = (byte) (sample >> 8);
+    }
+    return samples * 2;
+  }
+
+}
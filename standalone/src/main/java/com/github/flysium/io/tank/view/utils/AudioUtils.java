@@ -20,27 +20,23 @@
  * SOFTWARE.
  */
 
+
 package com.github.flysium.io.tank.view.utils;
 
+import com.github.flysium.io.tank.config.utils.LogUtils;
 import java.io.IOException;
+import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.ConcurrentSkipListSet;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.ThreadPoolExecutor.CallerRunsPolicy;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
-import javax.sound.sampled.AudioFormat;
-import javax.sound.sampled.AudioInputStream;
-import javax.sound.sampled.AudioSystem;
-import javax.sound.sampled.DataLine;
-import javax.sound.sampled.LineUnavailableException;
-import javax.sound.sampled.SourceDataLine;
 import javax.sound.sampled.UnsupportedAudioFileException;
 
 /**
  * Audio Utils.
  *
+ * <p>Audios are decoded once into memory, and played by a shared <code>AudioMixer</code>, so that
+ * playing an audio never opens a file or a line.
+ *
  * @author Sven Augustus
  * @version 1.0
  */
@@ -49,29 +45,34 @@ public final class AudioUtils {
   private AudioUtils() {
   }
 
-  private static final Set<String> AUDIOS = new ConcurrentSkipListSet<>();
+  private static final int VOICES = 8;
+
+  private static final Map<String, PcmClip> CLIPS = new ConcurrentHashMap<>();
 
-  private static final ThreadPoolExecutor EXECUTOR = new ThreadPoolExecutor(4, 4, 60,
-      TimeUnit.SECONDS, new ArrayBlockingQueue<>(1000),
-      Executors.defaultThreadFactory(), new CallerRunsPolicy());
+  // audios which can't be decoded, not to try again
+  private static final Set<String> FAILED = ConcurrentHashMap.newKeySet();
+
+  /**
+   * decode audios into memory, it should be called at startup.
+   *
+   * @param fileNames audios
+   */
+  public static void preload(String... fileNames) {
+    for (String fileName : fileNames) {
+      getClip(fileName);
+    }
+  }
 
   /**
-   * async play audio on a channel.
+   * async play audio on a channel, skip if the audio is still playing.
    *
    * @param fileName audio
    */
   public static void asyncPlayChannel(String fileName) {
-    System.out.println(fileName + "--->" + AUDIOS);
-    if (!AUDIOS.add(fileName)) {
-      return;
+    PcmClip clip = getClip(fileName);
+    if (clip != null) {
+      Holder.MIXER.playChannel(clip);
     }
-    EXECUTOR.submit(() -> {
-      try {
-        play(fileName);
-      } finally {
-        AUDIOS.remove(fileName);
-      }
-    });
   }
 
   /**
@@ -80,36 +81,53 @@ public final class AudioUtils {
    * @param fileName audio
    */
   public static void asyncPlay(String fileName) {
-    EXECUTOR.submit(() -> {
-      play(fileName);
-    });
+    PcmClip clip = getClip(fileName);
+    if (clip != null) {
+      Holder.MIXER.play(clip);
+    }
   }
 
   /**
-   * play audio.
+   * play audio, wait until it's finished.
    *
    * @param fileName audio
    */
   public static void play(String fileName) {
-    try (AudioInputStream audioInputStream = AudioSystem.getAudioInputStream(AudioUtils.class
-        .getClassLoader().getResource(fileName));
-    ) {
-      AudioFormat audioFormat = audioInputStream.getFormat();
-      SourceDataLine sourceDataLine = (SourceDataLine) AudioSystem
-          .getLine(new DataLine.Info(SourceDataLine.class, audioFormat));
-
-      byte[] b = new byte[1024 * 5];
-      int len = 0;
-      sourceDataLine.open(audioFormat, 1024 * 5);
-      sourceDataLine.start();
-
-      audioInputStream.mark(12358946);
-      while ((len = audioInputStream.read(b)) > 0) {
-        sourceDataLine.write(b, 0, len);
+    PcmClip clip = getClip(fileName);
+    if (clip == null || !Holder.MIXER.play(clip)) {
+      return;
+    }
+    try {
+      TimeUnit.MILLISECONDS.sleep(clip.getMillis());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static PcmClip getClip(String fileName) {
+    PcmClip clip = CLIPS.get(fileName);
+    if (clip != null || FAILED.contains(fileName)) {
+      return clip;
+    }
+    try {
+      clip = PcmClip.decode(fileName);
+      CLIPS.putIfAbsent(fileName, clip);
+      return clip;
+    } catch (UnsupportedAudioFileException | IOException e) {
+      if (FAILED.add(fileName)) {
+        LogUtils.warn(e, "audio is disabled: %s", fileName);
       }
-      sourceDataLine.drain();
-    } catch (UnsupportedAudioFileException | IOException | LineUnavailableException e) {
-      e.printStackTrace();
+      return null;
+    }
+  }
+
+  private static class Holder {
+
+    // the mixer, started on first use.
+    private static final AudioMixer MIXER = new AudioMixer(VOICES);
+
+    static {
+      MIXER.start();
     }
   }
 
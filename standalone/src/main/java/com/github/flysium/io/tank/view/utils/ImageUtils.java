@@ -22,8 +22,12 @@
 
 package com.github.flysium.io.tank.view.utils;
 
+import java.awt.AlphaComposite;
 import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
 import java.awt.RenderingHints;
+import java.awt.Transparency;
 import java.awt.image.BufferedImage;
 
 /**
@@ -61,4 +65,67 @@ public final class ImageUtils {
     return img;
   }
 
+  /**
+   * convert the Image to the native pixel format of the screen, so that drawing it never goes
+   * through a software conversion. Without a screen, it's converted to a premultiplied
+   * <code>TYPE_INT_ARGB_PRE</code> (or <code>TYPE_INT_RGB</code> if opaque) image.
+   *
+   * @param bufferedImage Image
+   * @return compatible Image, or the Image itself if it's already compatible.
+   */
+  public static BufferedImage toCompatibleImage(final BufferedImage bufferedImage) {
+    if (bufferedImage == null) {
+      return null;
+    }
+    final int transparency = bufferedImage.getTransparency();
+    final GraphicsConfiguration gc = getDefaultConfiguration();
+    if (gc != null ? bufferedImage.getColorModel().equals(gc.getColorModel(transparency))
+        : bufferedImage.getType() == headlessType(transparency)) {
+      return bufferedImage;
+    }
+    BufferedImage img = createCompatibleImage(bufferedImage.getWidth(),
+        bufferedImage.getHeight(), transparency);
+    Graphics2D graphics2d = img.createGraphics();
+    graphics2d.setComposite(AlphaComposite.Src);
+    graphics2d.drawImage(bufferedImage, 0, 0, null);
+    graphics2d.dispose();
+    return img;
+  }
+
+  /**
+   * create an Image in the native pixel format of the screen, see {@link
+   * #toCompatibleImage(BufferedImage)}.
+   *
+   * @param width        width
+   * @param height       height
+   * @param transparency transparency, see <code>Transparency</code>
+   * @return new Image.
+   */
+  public static BufferedImage createCompatibleImage(final int width, final int height,
+      final int transparency) {
+    final GraphicsConfiguration gc = getDefaultConfiguration();
+    if (gc != null) {
+      return gc.createCompatibleImage(width, height, transparency);
+    }
+    return new BufferedImage(width, height, headlessType(transparency));
+  }
+
+  private static int headlessType(final int transparency) {
+    return transparency == Transparency.OPAQUE ? BufferedImage.TYPE_INT_RGB
+        : BufferedImage.TYPE_INT_ARGB_PRE;
+  }
+
+  /**
+   * Get the <code>GraphicsConfiguration</code> of the default screen.
+   *
+   * @return <code>GraphicsConfiguration</code>, or null if there is no screen.
+   */
+  public static GraphicsConfiguration getDefaultConfiguration() {
+    if (GraphicsEnvironment.isHeadless()) {
+      return null;
+    }
+    return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+        .getDefaultConfiguration();
+  }
+
 }
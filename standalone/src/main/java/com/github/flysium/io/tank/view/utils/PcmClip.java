@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2020 SvenAugustus
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.flysium.io.tank.view.utils;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioFormat.Encoding;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+
+/**
+ * Audio clip which is decoded into memory, as 16-bit stereo samples at the sample rate of the
+ * <code>AudioMixer</code>. 8/16-bit PCM of any channels and sample rate are supported.
+ *
+ * @author Sven Augustus
+ * @version 1.0
+ */
+public final class PcmClip {
+
+  private final String name;
+
+  // interleaved left and right samples
+  private final short[] samples;
+
+  // whether it's playing or pending on it's channel
+  private final AtomicBoolean channelBusy = new AtomicBoolean();
+
+  private PcmClip(String name, short[] samples) {
+    this.name = name;
+    this.samples = samples;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Get the count of frames (a left and a right sample).
+   *
+   * @return count of frames
+   */
+  public int getFrames() {
+    return samples.length / 2;
+  }
+
+  /**
+   * Get the duration.
+   *
+   * @return duration in milliseconds
+   */
+  public long getMillis() {
+    return getFrames() * 1000L / (long) AudioMixer.SAMPLE_RATE;
+  }
+
+  short getSample(int index) {
+    return samples[index];
+  }
+
+  boolean acquireChannel() {
+    return channelBusy.compareAndSet(false, true);
+  }
+
+  void releaseChannel() {
+    channelBusy.set(false);
+  }
+
+  /**
+   * decode an audio file from the class path.
+   *
+   * @param fileName audio
+   * @return <code>PcmClip</code>
+   * @throws IOException                   if it's not found or can't be read
+   * @throws UnsupportedAudioFileException if it's not a supported PCM audio
+   */
+  public static PcmClip decode(String fileName) throws IOException, UnsupportedAudioFileException {
+    InputStream in = PcmClip.class.getClassLoader().getResourceAsStream(fileName);
+    if (in == null) {
+      throw new IOException("audio not found: " + fileName);
+    }
+    try (AudioInputStream audioInputStream = AudioSystem
+        .getAudioInputStream(new BufferedInputStream(in))) {
+      AudioFormat format = audioInputStream.getFormat();
+      if (!Encoding.PCM_SIGNED.equals(format.getEncoding())
+          && !Encoding.PCM_UNSIGNED.equals(format.getEncoding())) {
+        throw new UnsupportedAudioFileException("not a PCM audio: " + fileName);
+      }
+      final int bits = format.getSampleSizeInBits();
+      if (bits != 8 && bits != 16) {
+        throw new UnsupportedAudioFileException(bits + "-bit audio: " + fileName);
+      }
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      byte[] buffer = new byte[8192];
+      int len;
+      while ((len = audioInputStream.read(buffer)) > 0) {
+        bytes.write(buffer, 0, len);
+      }
+      return new PcmClip(fileName, toStereo(bytes.toByteArray(), format));
+    }
+  }
+
+  /**
+   * convert PCM bytes to 16-bit stereo samples, and resample them to the rate of the mixer.
+   */
+  private static short[] toStereo(byte[] data, AudioFormat format) {
+    final int channels = Math.max(1, format.getChannels());
+    final int bytesPerSample = format.getSampleSizeInBits() / 8;
+    final boolean unsigned = Encoding.PCM_UNSIGNED.equals(format.getEncoding());
+    final boolean bigEndian = format.isBigEndian();
+    final int frames = data.length / (bytesPerSample * channels);
+
+    // decode left and right of each frame
+    short[] source = new short[frames * 2];
+    for (int frame = 0; frame < frames; frame++) {
+      for (int c = 0; c < 2; c++) {
+        final int channel = Math.min(c, channels - 1);
+        final int offset = (frame * channels + channel) * bytesPerSample;
+        int sample;
+        if (bytesPerSample == 1) {
+          sample = unsigned ? (data[offset] & 0xFF) - 128 : data[offset];
+          sample <<= 8;
+        } else {
+          final int lo = data[bigEndian ? offset + 1 : offset] & 0xFF;
+          final int hi = data[bigEndian ? offset : offset + 1];
+          sample = (hi << 8) | lo;
+          if (unsigned) {
+            sample = (sample & 0xFFFF) - 32768;
+          }
+        }
+        source[frame * 2 + c] = (short) sample;
+      }
+    }
+
+    // resample linearly
+    final float rate = format.getSampleRate();
+    if (rate <= 0 || rate == AudioMixer.SAMPLE_RATE || frames == 0) {
+      return source;
+    }
+    final double step = rate / AudioMixer.SAMPLE_RATE;
+    final int targetFrames = (int) (frames / step);
+    short[] target = new short[targetFrames * 2];
+    for (int frame = 0; frame < targetFrames; frame++) {
+      final double position = frame * step;
+      final int i = (int) position;
+      final int j = Math.min(i + 1, frames - 1);
+      final double t = position - i;
+      for (int c = 0; c < 2; c++) {
+        target[frame * 2 + c] = (short) Math.round(
+            source[i * 2 + c] * (1 - t) + source[j * 2 + c] * t);
+      }
+    }
+    return target;
+  }
+
+}